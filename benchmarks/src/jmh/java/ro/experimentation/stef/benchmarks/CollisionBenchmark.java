@@ -0,0 +1,74 @@
+package ro.experimentation.stef.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import ro.experimentation.stef.systems.CollisionManager;
+import ro.experimentation.stef.world.EntityFactory;
+
+/**
+ * Cost of one collision pass plus the destruction of the lasers that hit, at varied laser
+ * and enemy counts, for both broadphases.
+ * Hits destroy lasers and damage enemies, so every invocation starts from a fresh
+ * copy of the same seeded scene.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CollisionBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int projectileCount;
+
+    @Param({"3", "100", "500"})
+    public int enemyCount;
+
+    @Param({"BRUTE_FORCE", "SPATIAL_HASH"})
+    public CollisionManager.BroadphaseMode broadphase;
+
+    private EntityRegistry registry;
+    private EntityFactory entityFactory;
+    private CollisionManager collisionManager;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        registry = new EntityRegistry(EntityRegistry.DEFAULT_CHUNK_CAPACITY, 2 * projectileCount + enemyCount + 1);
+        entityFactory = new EntityFactory(registry);
+        collisionManager = new CollisionManager(registry);
+        collisionManager.setBroadphaseMode(broadphase);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpScene() {
+        registry.clear();
+        Random random = new Random(42);
+        Fixtures.player(entityFactory);
+        Fixtures.enemies(registry, entityFactory, enemyCount, random);
+        // Both teams share positions, so each benchmark sees the same laser layout
+        long seed = random.nextLong();
+        Fixtures.lasers(entityFactory, true, projectileCount, new Random(seed));
+        Fixtures.lasers(entityFactory, false, projectileCount, new Random(seed));
+    }
+
+    @Benchmark
+    public int playerProjectilesVsEnemies() {
+        collisionManager.checkPlayerProjectileCollisions();
+        registry.flush();
+        return registry.getEntityCount();
+    }
+
+    @Benchmark
+    public int enemyProjectilesVsPlayer() {
+        collisionManager.checkEnemyProjectileCollisions();
+        registry.flush();
+        return registry.getEntityCount();
+    }
+}
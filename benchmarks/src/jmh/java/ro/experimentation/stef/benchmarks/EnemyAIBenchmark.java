@@ -0,0 +1,89 @@
+package ro.experimentation.stef.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import ro.experimentation.stef.ecs.Query;
+import ro.experimentation.stef.systems.AIScheduler;
+import ro.experimentation.stef.systems.EnemyAI;
+import ro.experimentation.stef.systems.MovementSystem;
+import ro.experimentation.stef.weapons.ProjectileBuffer;
+import ro.experimentation.stef.world.Components;
+import ro.experimentation.stef.world.EntityFactory;
+
+/**
+ * Per-enemy cost of the AI updates.
+ * Each invocation updates {@link #ENEMY_COUNT} enemies by one tick, and scores are
+ * normalised to a single enemy. The AI is measured with the game's decision budget and
+ * with every due enemy allowed to decide, which bounds what the budget saves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EnemyAIBenchmark {
+    private static final int ENEMY_COUNT = 1024;
+    private static final float DELTA = 1f / GameConfig.SIMULATION_TICK_RATE;
+
+    private AIScheduler budgetedScheduler;
+    private AIScheduler unboundedScheduler;
+    private EnemyAI enemyAI;
+    private MovementSystem movement;
+    private ProjectileBuffer projectiles;
+    private Query enemies;
+
+    @Setup
+    public void setUp() {
+        EntityRegistry registry = new EntityRegistry();
+        EntityFactory entityFactory = new EntityFactory(registry);
+        budgetedScheduler = new AIScheduler(GameConfig.AI_DECISIONS_PER_TICK);
+        unboundedScheduler = new AIScheduler(ENEMY_COUNT);
+        enemyAI = new EnemyAI(Fixtures.PATTERNS);
+        movement = new MovementSystem();
+        projectiles = new ProjectileBuffer(ENEMY_COUNT * 8);
+        Fixtures.enemies(registry, entityFactory, ENEMY_COUNT, new Random(42));
+        enemies = registry.query(Components.ENEMY_BRAIN);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENEMY_COUNT)
+    public void updateMovement() {
+        for (int c = 0; c < enemies.chunkCount(); c++) {
+            Chunk chunk = enemies.getChunk(c);
+            movement.move(chunk, 0, chunk.size(), DELTA);
+            enemyAI.keepWithinBounds(chunk);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENEMY_COUNT)
+    public int updateTimersAndShooting() {
+        return updateDecisions(budgetedScheduler);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENEMY_COUNT)
+    public int updateTimersAndShootingUnbounded() {
+        return updateDecisions(unboundedScheduler);
+    }
+
+    private int updateDecisions(AIScheduler scheduler) {
+        projectiles.clear();
+        scheduler.schedule(enemies, Fixtures.PLAYER_CENTER_X, Fixtures.PLAYER_CENTER_Y, true, DELTA);
+        for (int c = 0; c < enemies.chunkCount(); c++) {
+            Chunk chunk = enemies.getChunk(c);
+            enemyAI.update(chunk, 0, chunk.size(), Fixtures.PLAYER_CENTER_X, Fixtures.PLAYER_CENTER_Y, true,
+                           projectiles, DELTA);
+        }
+        return projectiles.size();
+    }
+}
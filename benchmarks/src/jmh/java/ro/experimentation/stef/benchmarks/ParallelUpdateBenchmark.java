@@ -0,0 +1,85 @@
+package ro.experimentation.stef.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import ro.experimentation.stef.ecs.Query;
+import ro.experimentation.stef.systems.AIScheduler;
+import ro.experimentation.stef.systems.EnemyAI;
+import ro.experimentation.stef.systems.MovementSystem;
+import ro.experimentation.stef.systems.ParallelUpdater;
+import ro.experimentation.stef.weapons.ProjectileBuffer;
+import ro.experimentation.stef.world.Components;
+import ro.experimentation.stef.world.EntityFactory;
+
+/**
+ * Serial versus fork/join cost of one tick of enemy updates and of movement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParallelUpdateBenchmark {
+    private static final float DELTA = 1f / GameConfig.SIMULATION_TICK_RATE;
+
+    @Param({"1024", "16384"})
+    public int enemyCount;
+
+    @Param({"10000", "200000"})
+    public int projectileCount;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private ParallelUpdater parallelUpdater;
+    private AIScheduler aiScheduler;
+    private EnemyAI enemyAI;
+    private MovementSystem movement;
+    private Query enemies;
+    private Query lasers;
+    private ProjectileBuffer enemyShots;
+
+    @Setup
+    public void setUp() {
+        parallelUpdater = new ParallelUpdater();
+        parallelUpdater.setEnabled(parallel);
+        aiScheduler = new AIScheduler(GameConfig.AI_DECISIONS_PER_TICK);
+        enemyAI = new EnemyAI(Fixtures.PATTERNS);
+        movement = new MovementSystem();
+
+        EntityRegistry registry = new EntityRegistry(EntityRegistry.DEFAULT_CHUNK_CAPACITY,
+                                                     enemyCount + projectileCount);
+        EntityFactory entityFactory = new EntityFactory(registry);
+        Random random = new Random(42);
+        Fixtures.enemies(registry, entityFactory, enemyCount, random);
+        // Nothing expires here, lasers simply keep flying
+        Fixtures.lasers(entityFactory, true, projectileCount, random);
+        enemies = registry.query(Components.ENEMY_BRAIN);
+        lasers = registry.query(Components.LASER, Components.POSITION, Components.PREVIOUS_POSITION,
+                                Components.VELOCITY);
+        enemyShots = new ProjectileBuffer(64);
+    }
+
+    @Benchmark
+    public int updateEnemies() {
+        enemyShots.clear();
+        aiScheduler.schedule(enemies, Fixtures.PLAYER_CENTER_X, Fixtures.PLAYER_CENTER_Y, true, DELTA);
+        parallelUpdater.updateEnemies(enemies, enemyAI, Fixtures.PLAYER_CENTER_X, Fixtures.PLAYER_CENTER_Y, true,
+                                      enemyShots, DELTA);
+        return enemyShots.size();
+    }
+
+    @Benchmark
+    public int updateProjectiles() {
+        parallelUpdater.updateMovement(lasers, movement, DELTA);
+        return lasers.size();
+    }
+}
@@ -0,0 +1,95 @@
+package ro.experimentation.stef.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import ro.experimentation.stef.weapons.BulletPattern;
+import ro.experimentation.stef.weapons.ProjectileBuffer;
+import ro.experimentation.stef.weapons.ProjectileFactory;
+import ro.experimentation.stef.world.EntityFactory;
+
+/**
+ * Spawn throughput of the burst attacks, both into a shot buffer and on to laser entities.
+ * Enemy attacks are the shipped bullet patterns; the spiral is emitted with all of its
+ * bursts at once to measure the batched path on a dense pattern.
+ * The buffer and registry are emptied whenever they fill up, so the numbers cover
+ * steady-state spawning rather than growth; the gc profiler's gc.alloc.rate.norm shows
+ * whether a burst allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectileSpawnBenchmark {
+    private static final int CAPACITY = 16384;
+
+    // Eyes of an enemy standing at its first spawn point, and of the fixture player
+    private static final float ENEMY_EYE_X = ProjectileFactory.eyeX(1000f, Fixtures.CHARACTER_SIZES[1][0]);
+    private static final float ENEMY_EYE_Y = ProjectileFactory.eyeY(400f, Fixtures.CHARACTER_SIZES[1][1]);
+    private static final float PLAYER_EYE_X = ProjectileFactory.eyeX(Fixtures.PLAYER_X, Fixtures.CHARACTER_SIZES[0][0]);
+    private static final float PLAYER_EYE_Y = ProjectileFactory.eyeY(Fixtures.PLAYER_Y, Fixtures.CHARACTER_SIZES[0][1]);
+
+    private ProjectileFactory projectileFactory;
+    private BulletPattern aoeSpread;
+    private BulletPattern spiral;
+    private ProjectileBuffer shots;
+    private EntityRegistry registry;
+    private EntityFactory entityFactory;
+
+    @Setup
+    public void setUp() {
+        projectileFactory = new ProjectileFactory();
+        aoeSpread = Fixtures.PATTERNS.get(Fixtures.PATTERNS.indexOf("aoeSpread"));
+        spiral = Fixtures.PATTERNS.get(Fixtures.PATTERNS.indexOf("spiral"));
+        shots = new ProjectileBuffer(CAPACITY);
+        registry = new EntityRegistry(EntityRegistry.DEFAULT_CHUNK_CAPACITY, CAPACITY);
+        entityFactory = new EntityFactory(registry);
+    }
+
+    @Benchmark
+    public int aoeSpread() {
+        recycleIfFull();
+        aoeSpread.start(ENEMY_EYE_X, ENEMY_EYE_Y, Fixtures.PLAYER_CENTER_X, Fixtures.PLAYER_CENTER_Y, shots);
+        return shots.size();
+    }
+
+    @Benchmark
+    public int spiral() {
+        recycleIfFull();
+        spiral.emit(-1f, spiral.getDuration(), ENEMY_EYE_X, ENEMY_EYE_Y,
+                    Fixtures.PLAYER_CENTER_X, Fixtures.PLAYER_CENTER_Y, shots);
+        return shots.size();
+    }
+
+    @Benchmark
+    public int circularBurst() {
+        recycleIfFull();
+        projectileFactory.createCircularBurst(PLAYER_EYE_X, PLAYER_EYE_Y, shots);
+        return shots.size();
+    }
+
+    @Benchmark
+    public int circularBurstEntities() {
+        if (registry.getEntityCount() > CAPACITY - 16) {
+            registry.clear();
+        }
+        shots.clear();
+        projectileFactory.createCircularBurst(PLAYER_EYE_X, PLAYER_EYE_Y, shots);
+        for (int i = 0; i < shots.size(); i++) {
+            entityFactory.createLaser(true, shots.getType(i), shots.getX(i), shots.getY(i),
+                                      shots.getVelocityX(i), shots.getVelocityY(i));
+        }
+        return registry.getEntityCount();
+    }
+
+    private void recycleIfFull() {
+        if (shots.size() > CAPACITY - 128) {
+            shots.clear();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package ro.experimentation.stef.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import ro.experimentation.stef.config.PerformanceProfile;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.Query;
+import ro.experimentation.stef.world.Components;
+import ro.experimentation.stef.world.InputState;
+import ro.experimentation.stef.world.World;
+
+/**
+ * Drives the headless {@link World} through a scripted fight and checks that steady-state
+ * frames allocate nothing.
+ * <p>
+ * After a warm-up that lets the enemy waves reach their cap, every growable buffer reach its
+ * working size and the JIT settle into its final tiers, the harness runs the measured frames and reads the thread's
+ * allocated bytes from {@code com.sun.management.ThreadMXBean}. If anything was allocated it runs the frames
+ * again under a JFR recording, prints the game call sites that allocated, and exits with
+ * status 1.
+ * <p>
+ * Usage: {@code AllocationHarness [frames] [warmupFrames]}, or {@code ./gradlew benchmarks:allocationCheck}.
+ */
+public final class AllocationHarness {
+    private static final int DEFAULT_FRAMES = 10_000;
+    private static final int DEFAULT_WARMUP_FRAMES = 60_000;
+    private static final int REPORTED_CALL_SITES = 15;
+    private static final String GAME_PACKAGE = "ro.experimentation.stef.";
+    private static final long SEED = 42;
+
+    // Scripted input: move in a square while firing, trigger each ability on its own period
+    private static final int[] MOVE_PATTERN = {InputState.RIGHT, InputState.UP, InputState.LEFT, InputState.DOWN};
+    private static final int MOVE_SEGMENT_FRAMES = 120;
+    private static final int ABILITY_A_PERIOD = 150;
+    private static final int ABILITY_S_PERIOD = 210;
+    private static final int ABILITY_D_PERIOD = 330;
+
+    private final World world;
+    private final InputState input;
+    private final Query characters;
+    private final float tickDuration;
+    private long frame;
+
+    private AllocationHarness() {
+        this.world = new World(0, Fixtures.CHARACTER_SIZES, SEED, Fixtures.PATTERNS, PerformanceProfile.DEFAULTS);
+        this.input = new InputState();
+        this.tickDuration = 1f / world.getProfile().getTickRate();
+        this.characters = world.getRegistry().query(Components.HEALTH);
+
+        Chunk playerChunk = world.getRegistry().getChunk(world.getPlayer());
+        int playerSlot = world.getRegistry().getSlot(world.getPlayer());
+        playerChunk.floats(Components.POSITION, Components.X)[playerSlot] = 300f;
+        playerChunk.floats(Components.POSITION, Components.Y)[playerSlot] = 300f;
+        playerChunk.floats(Components.PREVIOUS_POSITION, Components.X)[playerSlot] = 300f;
+        playerChunk.floats(Components.PREVIOUS_POSITION, Components.Y)[playerSlot] = 300f;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        int warmupFrames = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_WARMUP_FRAMES;
+
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)
+            || !((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            System.err.println("This JVM cannot report per-thread allocation");
+            System.exit(2);
+        }
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        AllocationHarness harness = new AllocationHarness();
+        harness.runFrames(warmupFrames);
+
+        // Count allocating frames without allocating in between
+        int allocatingFrames = 0;
+        long worstFrameBytes = 0;
+        long start = allocationBean.getCurrentThreadAllocatedBytes();
+        long previous = start;
+        for (int i = 0; i < frames; i++) {
+            harness.runFrame();
+            long now = allocationBean.getCurrentThreadAllocatedBytes();
+            long frameBytes = now - previous;
+            if (frameBytes > 0) {
+                allocatingFrames++;
+                worstFrameBytes = Math.max(worstFrameBytes, frameBytes);
+            }
+            previous = now;
+        }
+        long totalBytes = previous - start;
+
+        System.out.printf("Frames: %d after %d warm-up frames, %d projectiles and %d enemies live at the end%n",
+                          frames, warmupFrames,
+                          harness.world.getProjectileCount(), harness.world.getEnemyCount());
+        System.out.printf("Allocated: %d bytes total, %.2f bytes/frame, %d allocating frames, worst frame %d bytes%n",
+                          totalBytes, totalBytes / (double) frames, allocatingFrames, worstFrameBytes);
+        System.out.printf("Storage: %d entities at peak, %d allocations beyond the reserved storage%n",
+                          harness.world.getRegistry().getPeakEntityCount(), harness.world.getStorageMisses());
+
+        if (totalBytes == 0) {
+            System.out.println("OK: steady-state frames do not allocate");
+            return;
+        }
+
+        System.out.println("FAIL: steady-state frames allocate. Call sites seen by JFR:");
+        harness.reportCallSites(frames);
+        System.exit(1);
+    }
+
+    /**
+     * Runs frames of the scripted fight.
+     *
+     * @param count Number of frames
+     */
+    private void runFrames(int count) {
+        for (int i = 0; i < count; i++) {
+            runFrame();
+        }
+    }
+
+    /**
+     * Runs one frame: scripts the input, ticks the world once and revives the player,
+     * so the fight never winds down. Fallen enemies are removed by the world and replaced
+     * by its waves.
+     */
+    private void runFrame() {
+        int keys = InputState.SHOOT | MOVE_PATTERN[(int) (frame / MOVE_SEGMENT_FRAMES) % MOVE_PATTERN.length];
+        if (frame % ABILITY_A_PERIOD == 0) {
+            keys |= InputState.ABILITY_A;
+        }
+        if (frame % ABILITY_S_PERIOD == 0) {
+            keys |= InputState.ABILITY_S;
+        }
+        if (frame % ABILITY_D_PERIOD == 0) {
+            keys |= InputState.ABILITY_D;
+        }
+        input.setKeys(keys);
+
+        world.tick(tickDuration, input);
+
+        for (int c = 0; c < characters.chunkCount(); c++) {
+            Chunk chunk = characters.getChunk(c);
+            float[] health = chunk.floats(Components.HEALTH, Components.CURRENT);
+            float[] maxHealth = chunk.floats(Components.HEALTH, Components.MAX);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (health[i] <= 0) {
+                    health[i] = maxHealth[i];
+                }
+            }
+        }
+        frame++;
+    }
+
+    /**
+     * Runs the frames again under a JFR allocation recording and prints the game methods
+     * that allocated, heaviest first. JFR samples allocations, so the byte counts are
+     * estimates and very small leaks may need more frames to show up.
+     *
+     * @param frames Number of frames to record
+     * @throws IOException If the recording cannot be written or read
+     */
+    private void reportCallSites(int frames) throws IOException {
+        Path file = Files.createTempFile("allocation-harness", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.ObjectAllocationInNewTLAB").withStackTrace();
+            recording.enable("jdk.ObjectAllocationOutsideTLAB").withStackTrace();
+            recording.enable("jdk.ObjectAllocationSample").withStackTrace();
+            recording.start();
+            runFrames(frames);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        Map<String, long[]> callSites = new HashMap<>();
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String site = findCallSite(event);
+            if (site == null) {
+                continue;
+            }
+            long[] totals = callSites.computeIfAbsent(site, key -> new long[2]);
+            totals[0] += estimateBytes(event);
+            totals[1]++;
+        }
+        Files.deleteIfExists(file);
+
+        if (callSites.isEmpty()) {
+            System.out.println("  (no samples; run with more frames)");
+            return;
+        }
+        List<Map.Entry<String, long[]>> sorted = new ArrayList<>(callSites.entrySet());
+        sorted.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        for (int i = 0; i < Math.min(REPORTED_CALL_SITES, sorted.size()); i++) {
+            Map.Entry<String, long[]> entry = sorted.get(i);
+            System.out.printf("  ~%,d bytes in %d samples  %s%n",
+                              entry.getValue()[0], entry.getValue()[1], entry.getKey());
+        }
+    }
+
+    /**
+     * Finds the innermost game frame of an allocation event, skipping this harness.
+     *
+     * @param event The allocation event
+     * @return "allocated class at method(line)", or null if no game code was involved
+     */
+    private static String findCallSite(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return null;
+        }
+        for (RecordedFrame stackFrame : event.getStackTrace().getFrames()) {
+            String type = stackFrame.getMethod().getType().getName();
+            if (type.startsWith(GAME_PACKAGE) && !type.equals(AllocationHarness.class.getName())) {
+                return event.getClass("objectClass").getName() + " at " + type + "."
+                    + stackFrame.getMethod().getName() + "(" + stackFrame.getLineNumber() + ")";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Estimates the bytes an allocation event stands for.
+     *
+     * @param event The allocation event
+     * @return Estimated bytes
+     */
+    private static long estimateBytes(RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case "jdk.ObjectAllocationSample":
+                return event.getLong("weight");
+            case "jdk.ObjectAllocationInNewTLAB":
+                return event.getLong("tlabSize");
+            default:
+                return event.getLong("allocationSize");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ro.experimentation.stef.benchmarks;
+
+import java.io.InputStream;
+import java.util.Random;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import ro.experimentation.stef.systems.EnemyAI;
+import ro.experimentation.stef.weapons.BulletPatternLibrary;
+import ro.experimentation.stef.weapons.ProjectileType;
+import ro.experimentation.stef.world.EntityFactory;
+
+/**
+ * Shared, seeded entity setups for the benchmarks and the allocation harness.
+ * Character sizes match the shipped character textures so bounds and eye positions
+ * behave as in the game, without loading any image.
+ */
+final class Fixtures {
+    // Unscaled {width, height} of the trimmed textures in GameConfig.CHARACTER_TEXTURES order
+    static final float[][] CHARACTER_SIZES = {
+        {300f, 434f},
+        {496f, 574f},
+        {348f, 462f},
+        {306f, 756f}
+    };
+
+    // Bottom-left corner of the fixture player
+    static final float PLAYER_X = 100f;
+    static final float PLAYER_Y = 100f;
+
+    // Center of the fixture player's scaled bounds, where enemies aim
+    static final float PLAYER_CENTER_X = PLAYER_X + CHARACTER_SIZES[0][0] * GameConfig.SPRITE_SCALE / 2;
+    static final float PLAYER_CENTER_Y = PLAYER_Y + CHARACTER_SIZES[0][1] * GameConfig.SPRITE_SCALE / 2;
+
+    // The shipped bullet patterns, read from the assets folder on the classpath
+    static final BulletPatternLibrary PATTERNS = loadPatterns();
+
+    private Fixtures() {
+    }
+
+    private static BulletPatternLibrary loadPatterns() {
+        InputStream stream = Fixtures.class.getClassLoader().getResourceAsStream(GameConfig.BULLET_PATTERNS_FILE);
+        if (stream == null) {
+            throw new IllegalStateException(GameConfig.BULLET_PATTERNS_FILE + " is not on the classpath");
+        }
+        return BulletPatternLibrary.load(stream);
+    }
+
+    /**
+     * Creates a player in the lower-left part of the screen.
+     *
+     * @param factory Factory creating the entity
+     * @return The player entity
+     */
+    static int player(EntityFactory factory) {
+        return factory.createPlayer(0, CHARACTER_SIZES[0][0], CHARACTER_SIZES[0][1], PLAYER_X, PLAYER_Y);
+    }
+
+    /**
+     * Creates enemies spread uniformly over the screen, handed bullet patterns in the
+     * shipped rotation, with AI state seeded from the given generator.
+     *
+     * @param registry Registry the enemies live in
+     * @param factory Factory creating the entities
+     * @param count Number of enemies
+     * @param random Source of positions and AI seeds
+     */
+    static void enemies(EntityRegistry registry, EntityFactory factory, int count, Random random) {
+        EnemyAI enemyAI = new EnemyAI(PATTERNS);
+        for (int i = 0; i < count; i++) {
+            int look = 1 + (i % 3);
+            int enemy = factory.createEnemy(look, CHARACTER_SIZES[look][0], CHARACTER_SIZES[look][1],
+                                            random.nextFloat() * GameConfig.SCREEN_WIDTH,
+                                            random.nextFloat() * GameConfig.SCREEN_HEIGHT,
+                                            PATTERNS.getEnemyPattern(i));
+            enemyAI.initializeEnemy(registry.getChunk(enemy), registry.getSlot(enemy), random.nextLong());
+        }
+    }
+
+    /**
+     * Creates on-screen lasers of every kind flying in random directions.
+     *
+     * @param factory Factory creating the entities
+     * @param playerTeam Whether the lasers belong to the player
+     * @param count Number of lasers
+     * @param random Source of positions and directions
+     */
+    static void lasers(EntityFactory factory, boolean playerTeam, int count, Random random) {
+        int types = ProjectileType.count();
+        for (int i = 0; i < count; i++) {
+            float angle = random.nextFloat() * (float) (Math.PI * 2);
+            factory.createLaser(playerTeam, ProjectileType.fromId((byte) (i % types)),
+                                random.nextFloat() * GameConfig.SCREEN_WIDTH,
+                                random.nextFloat() * GameConfig.SCREEN_HEIGHT,
+                                (float) Math.cos(angle) * GameConfig.LASER_SPEED,
+                                (float) Math.sin(angle) * GameConfig.LASER_SPEED);
+        }
+    }
+}
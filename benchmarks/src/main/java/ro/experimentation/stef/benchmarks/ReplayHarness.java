@@ -0,0 +1,103 @@
+package ro.experimentation.stef.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import ro.experimentation.stef.config.PerformanceProfile;
+import ro.experimentation.stef.world.InputLog;
+import ro.experimentation.stef.world.InputState;
+import ro.experimentation.stef.world.World;
+
+/**
+ * Replays a recorded match on the headless {@link World} and reports how long the ticks
+ * took and the state checksum they ended in.
+ * <p>
+ * The replay is exact, so running the same recording on two builds compares their speed
+ * on identical work, and matching final checksums show that both simulated the same
+ * fight. When a checksum file is given, every tick's checksum is written to it in the same
+ * "tick,checksum" format as an in-game replay, so the first diverging tick can be found
+ * with a plain diff.
+ * <p>
+ * Usage: {@code ReplayHarness <recording> [checksumFile] [runs]}, or
+ * {@code ./gradlew benchmarks:replay -Preplay.file=<recording>}.
+ */
+public final class ReplayHarness {
+    private static final int DEFAULT_RUNS = 5;
+
+    private ReplayHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: ReplayHarness <recording> [checksumFile] [runs]");
+            System.exit(2);
+        }
+        InputLog log;
+        try (InputStream stream = Files.newInputStream(Paths.get(args[0]))) {
+            log = InputLog.read(stream);
+        }
+        Path checksumFile = args.length > 1 ? Paths.get(args[1]) : null;
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RUNS;
+
+        System.out.printf("Recording: %d ticks at %d Hz, seed %d%n",
+                          log.getTickCount(), log.getTickRate(), log.getSeed());
+
+        // Later runs have a warmed-up JIT; the checksum must not change between them
+        long finalChecksum = 0;
+        for (int run = 0; run < runs; run++) {
+            long[] checksums = run == 0 && checksumFile != null ? new long[log.getTickCount()] : null;
+            long start = System.nanoTime();
+            long checksum = replay(log, checksums);
+            long elapsed = System.nanoTime() - start;
+
+            System.out.printf("Run %d: %.1f ms, %.3f ms/tick, final checksum %016x%n",
+                              run + 1, elapsed / 1e6, elapsed / 1e6 / Math.max(1, log.getTickCount()), checksum);
+            if (run > 0 && checksum != finalChecksum) {
+                System.out.println("FAIL: the replay is not deterministic");
+                System.exit(1);
+            }
+            finalChecksum = checksum;
+
+            if (checksums != null) {
+                writeChecksums(checksumFile, checksums);
+            }
+        }
+    }
+
+    /**
+     * Runs every recorded tick on a fresh world.
+     *
+     * @param log The recording
+     * @param checksums Receives the checksum after every tick, or null to only compute the last one
+     * @return The checksum after the last tick
+     */
+    private static long replay(InputLog log, long[] checksums) {
+        World world = log.createWorld(Fixtures.PATTERNS, PerformanceProfile.DEFAULTS);
+        InputState input = new InputState();
+        float tickDuration = 1f / log.getTickRate();
+        for (int tick = 0; tick < log.getTickCount(); tick++) {
+            input.setKeys(log.getKeys(tick));
+            world.tick(tickDuration, input);
+            if (checksums != null) {
+                checksums[tick] = world.checksum();
+            }
+        }
+        long checksum = world.checksum();
+        world.dispose();
+        return checksum;
+    }
+
+    private static void writeChecksums(Path file, long[] checksums) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("tick,checksum\n");
+            for (int i = 0; i < checksums.length; i++) {
+                writer.write((i + 1) + "," + Long.toHexString(checksums[i]) + "\n");
+            }
+        }
+        System.out.println("Wrote per-tick checksums to " + file);
+    }
+}
@@ -1,9 +1,19 @@
 package ro.experimentation.stef;
 
 import com.badlogic.gdx.Game;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Supplier;
+import ro.experimentation.stef.audio.NullSoundEngine;
+import ro.experimentation.stef.audio.SoundEngine;
+import ro.experimentation.stef.config.PerformanceProfile;
 import ro.experimentation.stef.screens.CharacterSelectionScreen;
 import ro.experimentation.stef.screens.GameplayScreen;
+import ro.experimentation.stef.screens.LoadingScreen;
 import ro.experimentation.stef.systems.GameAssetManager;
+import ro.experimentation.stef.world.InputLog;
 
 /**
  * Main game class that manages screens and assets.
@@ -11,22 +21,72 @@ import ro.experimentation.stef.systems.GameAssetManager;
  */
 public class GamesWithStef extends Game {
     
+    // Input log to replay instead of playing, or null
+    private final String replayPath;
+    
+    // Performance knobs read at startup
+    private final PerformanceProfile profile;
+    
+    // Creates the platform's sound engine once the application is running
+    private final Supplier<SoundEngine> soundEngineFactory;
+    
+    private SoundEngine soundEngine;
     private GameAssetManager assetManager;
+    private LoadingScreen loadingScreen;
     private CharacterSelectionScreen characterSelectionScreen;
     
+    /**
+     * Creates the game with the default performance profile and no sound, starting at character selection.
+     */
+    public GamesWithStef() {
+        this(null, PerformanceProfile.DEFAULTS, NullSoundEngine::new);
+    }
+    
+    /**
+     * Creates the game.
+     *
+     * @param replayPath Path of an input log to replay once assets are loaded, or null to play normally
+     * @param profile The performance profile to run with
+     * @param soundEngineFactory Creates the sound engine; called once, from {@link #create()}
+     */
+    public GamesWithStef(String replayPath, PerformanceProfile profile, Supplier<SoundEngine> soundEngineFactory) {
+        this.replayPath = replayPath;
+        this.profile = profile;
+        this.soundEngineFactory = soundEngineFactory;
+    }
+    
     @Override
     public void create() {
-        // Initialize asset manager and load all assets
-        assetManager = new GameAssetManager();
-        assetManager.loadAssets();
+        // Start loading assets in the background and show progress until they are ready
+        soundEngine = soundEngineFactory.get();
+        assetManager = new GameAssetManager(profile.getTextureUploadsPerFrame(), soundEngine);
+        loadingScreen = new LoadingScreen(this, assetManager);
+        setScreen(loadingScreen);
+    }
+    
+    /**
+     * Shows the character selection screen once every asset is loaded.
+     * Called by LoadingScreen when loading completes.
+     */
+    public void onAssetsLoaded() {
+        if (replayPath != null) {
+            setScreen(new GameplayScreen(assetManager, profile, readReplay()));
+            loadingScreen.dispose();
+            loadingScreen = null;
+            return;
+        }
         
-        // Create and show character selection screen
         characterSelectionScreen = new CharacterSelectionScreen(
             this,
-            assetManager.getCharacterTextures(),
-            assetManager.getBackgroundTexture()
+            assetManager.getCharacterRegions(),
+            assetManager.getBackgroundRegion(),
+            assetManager.getWhiteRegion(),
+            assetManager.getFont()
         );
         setScreen(characterSelectionScreen);
+        
+        loadingScreen.dispose();
+        loadingScreen = null;
     }
     
     /**
@@ -36,10 +96,23 @@ public class GamesWithStef extends Game {
      * @param selectedCharacterIndex The index of the selected character
      */
     public void startGameWithCharacter(int selectedCharacterIndex) {
-        GameplayScreen gameplayScreen = new GameplayScreen(assetManager, selectedCharacterIndex);
+        GameplayScreen gameplayScreen = new GameplayScreen(assetManager, profile, selectedCharacterIndex);
         setScreen(gameplayScreen);
     }
     
+    /**
+     * Reads the input log to replay.
+     *
+     * @return The recorded match
+     */
+    private InputLog readReplay() {
+        try (InputStream stream = Gdx.files.absolute(replayPath).read()) {
+            return InputLog.read(stream);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read replay " + replayPath, e);
+        }
+    }
+    
     @Override
     public void dispose() {
         super.dispose();
@@ -49,5 +122,8 @@ public class GamesWithStef extends Game {
         if (screen != null) {
             screen.dispose();
         }
+        if (soundEngine != null) {
+            soundEngine.dispose();
+        }
     }
 }
@@ -0,0 +1,72 @@
+package ro.experimentation.stef.audio;
+
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.systems.CollisionManager;
+import ro.experimentation.stef.weapons.ProjectileType;
+import ro.experimentation.stef.world.World;
+
+/**
+ * Plays the shot and hit sounds of the last world tick.
+ * <p>
+ * The world reports which kinds of laser each team fired and landed during a tick, not
+ * every laser, so each projectile type plays at most one shot and one hit sound per tick:
+ * a burst of dozens of lasers costs a single voice. Shots and hits of different types are
+ * told apart by pitch. When both teams fired or landed the same type in a tick, the
+ * player's sound is the one that plays, at the player's priority.
+ */
+public class CombatSounds {
+    private final SoundEngine soundEngine;
+
+    // Playback speed per projectile type id, spread around 1
+    private final float[] pitch;
+
+    /**
+     * Creates a new CombatSounds.
+     *
+     * @param soundEngine Engine the sounds play on
+     */
+    public CombatSounds(SoundEngine soundEngine) {
+        this.soundEngine = soundEngine;
+        this.pitch = new float[ProjectileType.count()];
+        float middle = (pitch.length - 1) / 2f;
+        for (int id = 0; id < pitch.length; id++) {
+            pitch[id] = 1f + (id - middle) * GameConfig.SHOT_SOUND_PITCH_STEP;
+        }
+    }
+
+    /**
+     * Plays the sounds of the tick the world just ran. Call once after every tick.
+     *
+     * @param world The world that ticked
+     */
+    public void playTick(World world) {
+        CollisionManager collisions = world.getCollisionManager();
+        int playerShots = world.getPlayerShotTypes();
+        int enemyShots = world.getEnemyShotTypes();
+        int playerHits = collisions.getPlayerLaserHitTypes();
+        int enemyHits = collisions.getEnemyLaserHitTypes();
+        if ((playerShots | enemyShots | playerHits | enemyHits) == 0) {
+            return;
+        }
+
+        for (int id = 0; id < pitch.length; id++) {
+            int bit = 1 << id;
+            if ((playerShots & bit) != 0) {
+                soundEngine.play(SoundEffect.SHOT, GameConfig.SHOT_SOUND_VOLUME, pitch[id],
+                                 GameConfig.PLAYER_SHOT_SOUND_PRIORITY);
+            } else if ((enemyShots & bit) != 0) {
+                soundEngine.play(SoundEffect.SHOT, GameConfig.SHOT_SOUND_VOLUME, pitch[id],
+                                 GameConfig.ENEMY_SHOT_SOUND_PRIORITY);
+            }
+
+            // Enemy lasers landing means the player took the hit
+            if ((enemyHits & bit) != 0) {
+                soundEngine.play(SoundEffect.HIT, GameConfig.HIT_SOUND_VOLUME, pitch[id],
+                                 GameConfig.PLAYER_HIT_SOUND_PRIORITY);
+            } else if ((playerHits & bit) != 0) {
+                soundEngine.play(SoundEffect.HIT, GameConfig.HIT_SOUND_VOLUME, pitch[id],
+                                 GameConfig.ENEMY_HIT_SOUND_PRIORITY);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package ro.experimentation.stef.audio;
+
+import com.badlogic.gdx.files.FileHandle;
+import ro.experimentation.stef.config.GameConfig;
+
+/**
+ * A {@link SoundEngine} that plays nothing, for runs without an audio device such as
+ * headless tests and benchmarks.
+ * <p>
+ * Sounds still go through a {@link VoicePool}, with every voice finishing before the next
+ * sound, and each effect's plays are counted, so code driving the engine can be checked
+ * without audio.
+ */
+public class NullSoundEngine implements SoundEngine {
+    private final VoicePool voices;
+    private final long[] playCounts;
+    private boolean musicPlaying;
+
+    /**
+     * Creates a new NullSoundEngine with the default number of voices.
+     */
+    public NullSoundEngine() {
+        this(GameConfig.SOUND_VOICES);
+    }
+
+    /**
+     * Creates a new NullSoundEngine.
+     *
+     * @param voiceCount Number of voices reported
+     */
+    public NullSoundEngine(int voiceCount) {
+        this.voices = new VoicePool(voiceCount);
+        this.playCounts = new long[SoundEffect.count()];
+        this.musicPlaying = false;
+    }
+
+    @Override
+    public void load(SoundEffect effect, FileHandle file) {
+        // Nothing to decode
+    }
+
+    @Override
+    public void loadMusic(FileHandle file) {
+        // Nothing to stream
+    }
+
+    @Override
+    public boolean play(SoundEffect effect, float volume, float pitch, int priority) {
+        int voice = voices.claim(priority);
+        if (voice == -1) {
+            return false;
+        }
+        // A silent sound ends at once
+        voices.release(voice);
+        playCounts[effect.ordinal()]++;
+        return true;
+    }
+
+    @Override
+    public void playMusic() {
+        musicPlaying = true;
+    }
+
+    @Override
+    public void pauseMusic() {
+        musicPlaying = false;
+    }
+
+    @Override
+    public void dispose() {
+        musicPlaying = false;
+    }
+
+    // Getters
+    /**
+     * Gets the number of times an effect was played.
+     *
+     * @param effect The effect
+     * @return Plays since creation
+     */
+    public long getPlayCount(SoundEffect effect) {
+        return playCounts[effect.ordinal()];
+    }
+
+    public boolean isMusicPlaying() {
+        return musicPlaying;
+    }
+
+    @Override
+    public int getVoiceCount() {
+        return voices.size();
+    }
+
+    @Override
+    public long getStolenVoices() {
+        return voices.getStolen();
+    }
+
+    @Override
+    public long getDroppedSounds() {
+        return voices.getDropped();
+    }
+}
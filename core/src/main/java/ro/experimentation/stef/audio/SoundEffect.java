@@ -0,0 +1,42 @@
+package ro.experimentation.stef.audio;
+
+import ro.experimentation.stef.config.GameConfig;
+
+/**
+ * The short clips a {@link SoundEngine} decodes up front and plays on demand.
+ */
+public enum SoundEffect {
+    SHOT(GameConfig.SHOT_SOUND_FILE),
+    HIT(GameConfig.HIT_SOUND_FILE);
+
+    private static final SoundEffect[] VALUES = values();
+
+    private final String file;
+
+    SoundEffect(String file) {
+        this.file = file;
+    }
+
+    /**
+     * Looks up an effect by its ordinal without allocating.
+     *
+     * @param ordinal The effect's ordinal
+     * @return The matching effect
+     */
+    public static SoundEffect fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Gets the number of sound effects.
+     *
+     * @return The effect count
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    public String getFile() {
+        return file;
+    }
+}
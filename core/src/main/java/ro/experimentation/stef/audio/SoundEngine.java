@@ -0,0 +1,75 @@
+package ro.experimentation.stef.audio;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Plays the game's sound effects and music.
+ * <p>
+ * Effects are decoded once by {@link #load} and played from a fixed set of voices. When all
+ * voices are busy, a new sound replaces the lowest-priority one playing, the oldest of those
+ * if several tie, and is dropped if every voice plays something more important. Playing a
+ * sound only hands it to the backend, which mixes on its own thread, so the render thread
+ * never decodes or waits for audio.
+ * <p>
+ * The desktop launcher supplies a TuningFork backend; {@link NullSoundEngine} stands in
+ * wherever there is no audio device, such as headless runs.
+ */
+public interface SoundEngine extends Disposable {
+    /**
+     * Decodes an effect into memory so later plays only start a voice.
+     *
+     * @param effect The effect to load
+     * @param file The clip to decode
+     */
+    void load(SoundEffect effect, FileHandle file);
+
+    /**
+     * Opens the looping music track, streamed from its file. Does not start it.
+     *
+     * @param file The music file
+     */
+    void loadMusic(FileHandle file);
+
+    /**
+     * Plays a loaded effect once.
+     *
+     * @param effect The effect to play
+     * @param volume Volume in [0, 1]
+     * @param pitch Playback speed, 1 for the clip as recorded
+     * @param priority Importance when voices run out; higher keeps its voice
+     * @return Whether a voice was free or stolen for the sound
+     */
+    boolean play(SoundEffect effect, float volume, float pitch, int priority);
+
+    /**
+     * Starts or resumes the music.
+     */
+    void playMusic();
+
+    /**
+     * Pauses the music.
+     */
+    void pauseMusic();
+
+    /**
+     * Gets the number of voices sound effects share.
+     *
+     * @return Voice count
+     */
+    int getVoiceCount();
+
+    /**
+     * Gets the number of sounds that cut off another sound to play.
+     *
+     * @return Stolen voices since creation
+     */
+    long getStolenVoices();
+
+    /**
+     * Gets the number of sounds dropped because every voice played something more important.
+     *
+     * @return Dropped sounds since creation
+     */
+    long getDroppedSounds();
+}
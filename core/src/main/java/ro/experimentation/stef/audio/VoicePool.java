@@ -0,0 +1,95 @@
+package ro.experimentation.stef.audio;
+
+/**
+ * Decides which of a fixed number of voices plays a new sound.
+ * <p>
+ * A free voice is used if there is one. Otherwise the voice playing the lowest-priority
+ * sound is stolen, the one that started first if several tie, as long as that sound is
+ * not more important than the new one; if it is, the new sound is dropped. Backends keep
+ * one audio source per voice and report voices whose sound finished through
+ * {@link #release}.
+ */
+public class VoicePool {
+    private final boolean[] busy;
+    private final int[] priority;
+    private final long[] startOrder;
+
+    private long plays;
+    private long stolen;
+    private long dropped;
+
+    /**
+     * Creates a new VoicePool with every voice free.
+     *
+     * @param voices Number of voices
+     */
+    public VoicePool(int voices) {
+        if (voices < 1) {
+            throw new IllegalArgumentException("A voice pool needs at least one voice: " + voices);
+        }
+        this.busy = new boolean[voices];
+        this.priority = new int[voices];
+        this.startOrder = new long[voices];
+        this.plays = 0;
+        this.stolen = 0;
+        this.dropped = 0;
+    }
+
+    /**
+     * Picks the voice to play a new sound on and marks it busy with that sound.
+     *
+     * @param soundPriority Importance of the new sound
+     * @return The voice to play on, which the caller must stop first if it was busy, or -1 to drop the sound
+     */
+    public int claim(int soundPriority) {
+        int victim = -1;
+        for (int v = 0; v < busy.length; v++) {
+            if (!busy[v]) {
+                victim = v;
+                break;
+            }
+            if (victim == -1 || priority[v] < priority[victim]
+                || (priority[v] == priority[victim] && startOrder[v] < startOrder[victim])) {
+                victim = v;
+            }
+        }
+
+        if (busy[victim]) {
+            if (priority[victim] > soundPriority) {
+                dropped++;
+                return -1;
+            }
+            stolen++;
+        }
+        busy[victim] = true;
+        priority[victim] = soundPriority;
+        startOrder[victim] = plays++;
+        return victim;
+    }
+
+    /**
+     * Marks a voice free once its sound has finished.
+     *
+     * @param voice The voice
+     */
+    public void release(int voice) {
+        busy[voice] = false;
+    }
+
+    // Getters
+    public int size() {
+        return busy.length;
+    }
+
+    public boolean isBusy(int voice) {
+        return busy[voice];
+    }
+
+    public long getStolen() {
+        return stolen;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+}
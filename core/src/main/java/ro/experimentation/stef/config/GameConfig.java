@@ -1,5 +1,9 @@
 package ro.experimentation.stef.config;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
 /**
  * Central configuration class containing all game constants and settings.
  * Provides a single source of truth for game parameters.
@@ -10,12 +14,17 @@ public class GameConfig {
     public static final int SCREEN_WIDTH = 1920;
     public static final int SCREEN_HEIGHT = 1080;
     
+    // Arena size; the camera shows a screen-sized window of it that follows the player
+    public static final int WORLD_WIDTH = 3840;
+    public static final int WORLD_HEIGHT = 2160;
+    
     // Health system
     public static final float MAX_HEALTH = 100f;
     public static final float PLAYER_MAX_HEALTH = 300f;
     public static final float DAMAGE_PER_HIT = 10f;
     public static final float HEALTH_BAR_WIDTH = 120f;
     public static final float HEALTH_BAR_HEIGHT = 12f;
+    public static final int SCORE_PER_ENEMY = 100;
     
     // Character selection rendering
     public static final float CHARACTER_SCALE = 0.4f;
@@ -28,6 +37,30 @@ public class GameConfig {
     public static final float LASER_COOLDOWN_TIME = 0.3f;
     public static final float LASER_SPEED = 700f;
     public static final float ABILITY_COOLDOWN_TIME = 2.0f;
+    public static final float PROJECTILE_MAX_LIFETIME = 5f;
+    
+    // Simulation timing
+    public static final int SIMULATION_TICK_RATE = 60;
+    public static final int MAX_TICKS_PER_FRAME = 5;
+    
+    // Entity storage: entities per archetype chunk, entity indices and buffered shots per
+    // tick reserved up front
+    public static final int ENTITY_CHUNK_CAPACITY = 256;
+    public static final int INITIAL_ENTITY_CAPACITY = 256;
+    public static final int SHOT_BUFFER_CAPACITY = 512;
+    
+    // Storage reserved when a match starts, sized from peaks seen in long fights, so the
+    // first waves do not allocate
+    public static final int PREWARM_ENEMIES = 300;
+    public static final int PREWARM_PLAYER_LASERS = 256;
+    public static final int PREWARM_ENEMY_LASERS = 20480;
+    
+    // Collision broadphase
+    public static final float COLLISION_CELL_SIZE = 128f;
+    
+    // Parallel update: work is split across cores only when there is more than one chunk of it
+    public static final int PARALLEL_ENEMY_CHUNK_SIZE = 128;
+    public static final int PARALLEL_PROJECTILE_CHUNK_SIZE = 8192;
     
     // Enemy AI
     public static final float ENEMY_SPEED = 125f;
@@ -39,15 +72,64 @@ public class GameConfig {
         {700f, 150f}    // Enemy 3 position
     };
     
+    // Enemy AI scheduling: at most AI_DECISIONS_PER_TICK enemies act on expired timers per
+    // tick, and enemies beyond the mid and far distances from the player only every few ticks
+    public static final int AI_DECISIONS_PER_TICK = 48;
+    public static final float AI_MID_DISTANCE = 600f;
+    public static final float AI_FAR_DISTANCE = 1200f;
+    public static final int AI_MID_PERIOD = 4;
+    public static final int AI_FAR_PERIOD = 8;
+    
+    // Enemy waves, spawned after the opening enemies
+    public static final float FIRST_WAVE_DELAY = 10f;
+    public static final float WAVE_INTERVAL = 20f;
+    public static final int FIRST_WAVE_SIZE = 8;
+    public static final int WAVE_SIZE_GROWTH = 8;
+    public static final float WAVE_SPAWN_INTERVAL = 0.25f;
+    public static final int MAX_ENEMIES = 300;
+    
     // Player movement
     public static final float PLAYER_SPEED = 200f;
     
     // Character sprite scale
     public static final float SPRITE_SCALE = 0.5f;
     
+    // Character textures are trimmed and baked at this fraction of their source size by the
+    // processAssets Gradle task, which reads it from the same ASSET_PIPELINE_FILE
+    public static final float CHARACTER_TEXTURE_SCALE = readCharacterTextureScale();
+    
+    // Lasers drawn per call by the projectile renderer; 16-bit indices address at most 65536 vertices
+    public static final int PROJECTILE_RENDERER_MAX_QUADS = 16383;
+    
+    // Texture atlas built at load time
+    public static final int ATLAS_PAGE_SIZE = 2048;
+    public static final int TEXTURE_UPLOADS_PER_FRAME = 1;
+    
+    // Performance overlay
+    public static final int PERFORMANCE_SAMPLE_COUNT = 600;
+    public static final float PERFORMANCE_REFRESH_INTERVAL = 0.25f;
+    public static final float PERFORMANCE_FONT_SCALE = 1.5f;
+    
+    // Sound effects: voices sounds share, the priority deciding which sound keeps a voice
+    // when all are busy (a player hit is the player being hit), volumes, and the pitch step
+    // between the sounds of consecutive laser kinds
+    public static final int SOUND_VOICES = 16;
+    public static final int ENEMY_SHOT_SOUND_PRIORITY = 1;
+    public static final int PLAYER_SHOT_SOUND_PRIORITY = 2;
+    public static final int ENEMY_HIT_SOUND_PRIORITY = 3;
+    public static final int PLAYER_HIT_SOUND_PRIORITY = 4;
+    public static final float SHOT_SOUND_VOLUME = 0.35f;
+    public static final float HIT_SOUND_VOLUME = 0.6f;
+    public static final float SHOT_SOUND_PITCH_STEP = 0.08f;
+    
     // Asset paths
     public static final String BACKGROUND_TEXTURE = "dragonballbackground.jpg";
     public static final String MUSIC_FILE = "01.Chozetsu_Dynamic!_(TV_Size).mp3";
+    public static final String SHOT_SOUND_FILE = "shot.wav";
+    public static final String HIT_SOUND_FILE = "hit.wav";
+    public static final String BULLET_PATTERNS_FILE = "bullet_patterns.json";
+    public static final String PERFORMANCE_PROFILE_FILE = "performance.properties";
+    public static final String ASSET_PIPELINE_FILE = "asset-pipeline.properties";
     
     // Character selection
     public static final String[] CHARACTER_TEXTURES = {
@@ -69,8 +151,36 @@ public class GameConfig {
     public static final float TITLE_FONT_SCALE = 3f;
     public static final float NAME_FONT_SCALE = 2f;
     public static final float INSTRUCTION_FONT_SCALE = 2f;
+    public static final float HUD_FONT_SCALE = 2f;
     
     private GameConfig() {
         // Private constructor to prevent instantiation
     }
+    
+    /**
+     * Reads the scale the asset pipeline baked character textures at from the classpath.
+     * Runs before the application exists, so it cannot go through Gdx.files.
+     */
+    private static float readCharacterTextureScale() {
+        Properties pipeline = new Properties();
+        try (InputStream stream = GameConfig.class.getResourceAsStream("/" + ASSET_PIPELINE_FILE)) {
+            if (stream == null) {
+                throw new IllegalStateException(ASSET_PIPELINE_FILE + " is not on the classpath");
+            }
+            pipeline.load(stream);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + ASSET_PIPELINE_FILE, e);
+        }
+        String value = pipeline.getProperty("character.textureScale");
+        float scale;
+        try {
+            scale = Float.parseFloat(value != null ? value.trim() : "");
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException(ASSET_PIPELINE_FILE + ": character.textureScale must be a number", e);
+        }
+        if (!(scale > 0f && scale <= 1f)) {
+            throw new IllegalStateException(ASSET_PIPELINE_FILE + ": character.textureScale must be in (0, 1]");
+        }
+        return scale;
+    }
 }
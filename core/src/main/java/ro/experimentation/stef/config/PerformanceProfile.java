@@ -0,0 +1,329 @@
+package ro.experimentation.stef.config;
+
+import com.badlogic.gdx.utils.Array;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Performance knobs read once at startup: tick rate, entity caps, storage and batch sizes,
+ * parallel task sizes, sound voices and frame pacing.
+ * <p>
+ * A profile is loaded from a {@link GameConfig#PERFORMANCE_PROFILE_FILE} properties file,
+ * optionally overridden from the launcher, and validated as a whole before anything uses
+ * it; every missing key keeps its {@link GameConfig} default. Profiles are immutable, so
+ * the values a match starts with never change under it.
+ * <p>
+ * The tick rate, enemy cap and AI decision budget change what the simulation does, so
+ * {@link ro.experimentation.stef.world.InputLog} records them and replays use the recorded
+ * values through {@link #withSimulation}. Every other value only changes how fast the same
+ * simulation runs.
+ */
+public final class PerformanceProfile {
+    public static final String TICK_RATE = "simulation.tickRate";
+    public static final String MAX_TICKS_PER_FRAME = "simulation.maxTicksPerFrame";
+    public static final String MAX_ENEMIES = "enemies.max";
+    public static final String AI_DECISIONS_PER_TICK = "ai.decisionsPerTick";
+    public static final String ENTITY_CHUNK_CAPACITY = "entities.chunkCapacity";
+    public static final String INITIAL_ENTITY_CAPACITY = "entities.initialCapacity";
+    public static final String SHOT_BUFFER_CAPACITY = "projectiles.shotBufferCapacity";
+    public static final String PREWARM_ENEMIES = "prewarm.enemies";
+    public static final String PREWARM_PLAYER_LASERS = "prewarm.playerLasers";
+    public static final String PREWARM_ENEMY_LASERS = "prewarm.enemyLasers";
+    public static final String PARALLEL_ENEMY_TASK_SIZE = "parallel.enemyTaskSize";
+    public static final String PARALLEL_MOVEMENT_TASK_SIZE = "parallel.movementTaskSize";
+    public static final String PROJECTILE_BATCH_SIZE = "render.projectileBatchSize";
+    public static final String TEXTURE_UPLOADS_PER_FRAME = "loading.textureUploadsPerFrame";
+    public static final String AUDIO_VOICES = "audio.voices";
+    public static final String VSYNC = "display.vsync";
+    public static final String FOREGROUND_FPS = "display.foregroundFps";
+    public static final String IDLE_FPS = "display.idleFps";
+
+    private static final String[] KEYS = {
+        TICK_RATE, MAX_TICKS_PER_FRAME, MAX_ENEMIES, AI_DECISIONS_PER_TICK, ENTITY_CHUNK_CAPACITY,
+        INITIAL_ENTITY_CAPACITY, SHOT_BUFFER_CAPACITY, PREWARM_ENEMIES, PREWARM_PLAYER_LASERS,
+        PREWARM_ENEMY_LASERS, PARALLEL_ENEMY_TASK_SIZE, PARALLEL_MOVEMENT_TASK_SIZE,
+        PROJECTILE_BATCH_SIZE, TEXTURE_UPLOADS_PER_FRAME, AUDIO_VOICES, VSYNC, FOREGROUND_FPS, IDLE_FPS
+    };
+
+    /**
+     * Fastest allowed tick rate. An entity index changes generation at most once per tick,
+     * so below this rate no index can wrap its generation while a laser's expiry, at most
+     * {@link GameConfig#PROJECTILE_MAX_LIFETIME} plus one expiry bucket away, is pending.
+     */
+    public static final int MAX_TICK_RATE = (int) (EntityRegistry.MAX_GENERATION
+        / (GameConfig.PROJECTILE_MAX_LIFETIME + 1f / GameConfig.SIMULATION_TICK_RATE));
+
+    /** Largest allowed enemy cap. */
+    public static final int MAX_ENEMY_CAP = 1 << 20;
+
+    // Foreground FPS meaning the active monitor's refresh rate plus one
+    public static final int MONITOR_REFRESH_RATE = -1;
+
+    /** Every knob at its GameConfig default. */
+    public static final PerformanceProfile DEFAULTS = fromProperties(new Properties());
+
+    // The values this profile was built from, kept to apply overrides on top
+    private final Properties values;
+
+    private final int tickRate;
+    private final int maxTicksPerFrame;
+    private final int maxEnemies;
+    private final int aiDecisionsPerTick;
+    private final int entityChunkCapacity;
+    private final int initialEntityCapacity;
+    private final int shotBufferCapacity;
+    private final int prewarmEnemies;
+    private final int prewarmPlayerLasers;
+    private final int prewarmEnemyLasers;
+    private final int parallelEnemyTaskSize;
+    private final int parallelMovementTaskSize;
+    private final int projectileBatchSize;
+    private final int textureUploadsPerFrame;
+    private final int audioVoices;
+    private final boolean vsync;
+    private final int foregroundFps;
+    private final int idleFps;
+
+    /**
+     * Parses and validates a profile.
+     *
+     * @param values Key-value pairs; missing keys take their defaults
+     * @throws IllegalArgumentException Listing every unknown key and invalid value
+     */
+    private PerformanceProfile(Properties values) {
+        this.values = values;
+        Array<String> errors = new Array<>();
+        for (String key : values.stringPropertyNames()) {
+            if (!isKey(key)) {
+                errors.add("unknown key " + key);
+            }
+        }
+
+        this.tickRate = readInt(values, TICK_RATE, GameConfig.SIMULATION_TICK_RATE, 1, MAX_TICK_RATE, errors);
+        this.maxTicksPerFrame = readInt(values, MAX_TICKS_PER_FRAME, GameConfig.MAX_TICKS_PER_FRAME, 1, 100, errors);
+        this.maxEnemies = readInt(values, MAX_ENEMIES, GameConfig.MAX_ENEMIES, 1, MAX_ENEMY_CAP, errors);
+        this.aiDecisionsPerTick = readInt(values, AI_DECISIONS_PER_TICK, GameConfig.AI_DECISIONS_PER_TICK,
+                                          1, Integer.MAX_VALUE, errors);
+        this.entityChunkCapacity = readInt(values, ENTITY_CHUNK_CAPACITY, GameConfig.ENTITY_CHUNK_CAPACITY,
+                                           1, 1 << 16, errors);
+        this.initialEntityCapacity = readInt(values, INITIAL_ENTITY_CAPACITY, GameConfig.INITIAL_ENTITY_CAPACITY,
+                                             1, EntityRegistry.MAX_ENTITIES, errors);
+        this.shotBufferCapacity = readInt(values, SHOT_BUFFER_CAPACITY, GameConfig.SHOT_BUFFER_CAPACITY,
+                                          1, 1 << 20, errors);
+        this.prewarmEnemies = readInt(values, PREWARM_ENEMIES, GameConfig.PREWARM_ENEMIES, 0, 1 << 18, errors);
+        this.prewarmPlayerLasers = readInt(values, PREWARM_PLAYER_LASERS, GameConfig.PREWARM_PLAYER_LASERS,
+                                           0, 1 << 18, errors);
+        this.prewarmEnemyLasers = readInt(values, PREWARM_ENEMY_LASERS, GameConfig.PREWARM_ENEMY_LASERS,
+                                          0, 1 << 18, errors);
+        this.parallelEnemyTaskSize = readInt(values, PARALLEL_ENEMY_TASK_SIZE, GameConfig.PARALLEL_ENEMY_CHUNK_SIZE,
+                                             1, Integer.MAX_VALUE, errors);
+        this.parallelMovementTaskSize = readInt(values, PARALLEL_MOVEMENT_TASK_SIZE,
+                                                GameConfig.PARALLEL_PROJECTILE_CHUNK_SIZE, 1, Integer.MAX_VALUE, errors);
+        this.projectileBatchSize = readInt(values, PROJECTILE_BATCH_SIZE, GameConfig.PROJECTILE_RENDERER_MAX_QUADS,
+                                           1, GameConfig.PROJECTILE_RENDERER_MAX_QUADS, errors);
+        this.textureUploadsPerFrame = readInt(values, TEXTURE_UPLOADS_PER_FRAME, GameConfig.TEXTURE_UPLOADS_PER_FRAME,
+                                              1, 64, errors);
+        this.audioVoices = readInt(values, AUDIO_VOICES, GameConfig.SOUND_VOICES, 1, 64, errors);
+        this.vsync = readBoolean(values, VSYNC, true, errors);
+        this.foregroundFps = readInt(values, FOREGROUND_FPS, MONITOR_REFRESH_RATE, MONITOR_REFRESH_RATE, 1000, errors);
+        this.idleFps = readInt(values, IDLE_FPS, 60, 0, 1000, errors);
+
+        if (errors.size > 0) {
+            StringBuilder message = new StringBuilder("Invalid performance profile:");
+            for (String error : errors) {
+                message.append("\n  ").append(error);
+            }
+            throw new IllegalArgumentException(message.toString());
+        }
+    }
+
+    /**
+     * Reads a profile from a properties file.
+     *
+     * @param stream Stream holding the file; not closed
+     * @return The validated profile
+     * @throws IOException If the stream cannot be read
+     * @throws IllegalArgumentException If the file has unknown keys or invalid values
+     */
+    public static PerformanceProfile load(InputStream stream) throws IOException {
+        Properties values = new Properties();
+        values.load(stream);
+        return fromProperties(values);
+    }
+
+    /**
+     * Builds a profile from key-value pairs.
+     *
+     * @param values Key-value pairs; copied
+     * @return The validated profile
+     * @throws IllegalArgumentException If there are unknown keys or invalid values
+     */
+    public static PerformanceProfile fromProperties(Properties values) {
+        Properties copy = new Properties();
+        for (String key : values.stringPropertyNames()) {
+            copy.setProperty(key, values.getProperty(key).trim());
+        }
+        return new PerformanceProfile(copy);
+    }
+
+    /**
+     * Creates a profile with some values replaced, such as overrides given to the launcher.
+     *
+     * @param overrides Key-value pairs taking precedence over this profile's
+     * @return The validated profile
+     * @throws IllegalArgumentException If the result has unknown keys or invalid values
+     */
+    public PerformanceProfile withOverrides(Properties overrides) {
+        Properties merged = new Properties();
+        merged.putAll(values);
+        for (String key : overrides.stringPropertyNames()) {
+            merged.setProperty(key, overrides.getProperty(key));
+        }
+        return fromProperties(merged);
+    }
+
+    /**
+     * Creates a profile running the simulation with recorded settings, keeping this
+     * profile's values for everything else.
+     *
+     * @param tickRate Simulation ticks per second
+     * @param maxEnemies Most enemies alive at once
+     * @param aiDecisionsPerTick Most enemy decisions per tick
+     * @return The validated profile
+     */
+    public PerformanceProfile withSimulation(int tickRate, int maxEnemies, int aiDecisionsPerTick) {
+        if (tickRate == this.tickRate && maxEnemies == this.maxEnemies
+            && aiDecisionsPerTick == this.aiDecisionsPerTick) {
+            return this;
+        }
+        Properties overrides = new Properties();
+        overrides.setProperty(TICK_RATE, Integer.toString(tickRate));
+        overrides.setProperty(MAX_ENEMIES, Integer.toString(maxEnemies));
+        overrides.setProperty(AI_DECISIONS_PER_TICK, Integer.toString(aiDecisionsPerTick));
+        return withOverrides(overrides);
+    }
+
+    private static boolean isKey(String key) {
+        for (String known : KEYS) {
+            if (known.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int readInt(Properties values, String key, int defaultValue, int min, int max,
+                               Array<String> errors) {
+        String text = values.getProperty(key);
+        if (text == null) {
+            return defaultValue;
+        }
+        try {
+            int value = Integer.parseInt(text);
+            if (value >= min && value <= max) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+            // Reported below like an out-of-range value
+        }
+        errors.add(key + " must be an integer from " + min + " to " + max + ": " + text);
+        return defaultValue;
+    }
+
+    private static boolean readBoolean(Properties values, String key, boolean defaultValue, Array<String> errors) {
+        String text = values.getProperty(key);
+        if (text == null) {
+            return defaultValue;
+        }
+        if (text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(text);
+        }
+        errors.add(key + " must be true or false: " + text);
+        return defaultValue;
+    }
+
+    // Getters
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public int getMaxTicksPerFrame() {
+        return maxTicksPerFrame;
+    }
+
+    public int getMaxEnemies() {
+        return maxEnemies;
+    }
+
+    public int getAIDecisionsPerTick() {
+        return aiDecisionsPerTick;
+    }
+
+    public int getEntityChunkCapacity() {
+        return entityChunkCapacity;
+    }
+
+    public int getInitialEntityCapacity() {
+        return initialEntityCapacity;
+    }
+
+    public int getShotBufferCapacity() {
+        return shotBufferCapacity;
+    }
+
+    public int getPrewarmEnemies() {
+        return prewarmEnemies;
+    }
+
+    public int getPrewarmPlayerLasers() {
+        return prewarmPlayerLasers;
+    }
+
+    public int getPrewarmEnemyLasers() {
+        return prewarmEnemyLasers;
+    }
+
+    public int getParallelEnemyTaskSize() {
+        return parallelEnemyTaskSize;
+    }
+
+    public int getParallelMovementTaskSize() {
+        return parallelMovementTaskSize;
+    }
+
+    public int getProjectileBatchSize() {
+        return projectileBatchSize;
+    }
+
+    public int getTextureUploadsPerFrame() {
+        return textureUploadsPerFrame;
+    }
+
+    public int getAudioVoices() {
+        return audioVoices;
+    }
+
+    public boolean isVsync() {
+        return vsync;
+    }
+
+    /**
+     * Gets the frame cap while the window is focused.
+     *
+     * @return Frames per second, 0 for no cap, or {@link #MONITOR_REFRESH_RATE}
+     */
+    public int getForegroundFps() {
+        return foregroundFps;
+    }
+
+    /**
+     * Gets the frame cap while the window is unfocused or minimized.
+     *
+     * @return Frames per second, or 0 for no cap
+     */
+    public int getIdleFps() {
+        return idleFps;
+    }
+}
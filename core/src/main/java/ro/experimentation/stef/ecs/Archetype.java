@@ -0,0 +1,238 @@
+package ro.experimentation.stef.ecs;
+
+import com.badlogic.gdx.utils.Array;
+import java.util.Arrays;
+
+/**
+ * The set of entities sharing exactly the same component types.
+ * Entities are numbered by row, densely from 0, and row {@code r} lives in chunk
+ * {@code r / chunkCapacity} at slot {@code r % chunkCapacity}. Removing an entity moves the
+ * archetype's last entity into its row, so every chunk but the last is always full.
+ * <p>
+ * Chunks emptied by removals are kept for reuse, so an archetype that shrinks and grows
+ * again does not allocate. {@link #reserve(int)} allocates chunks ahead of the first
+ * spike, and the archetype counts its peak size and the chunks it had to allocate on
+ * demand, so reservations can be sized from observed play.
+ */
+public final class Archetype {
+    private final long mask;
+    private final ComponentType[] types;
+    private final int chunkCapacity;
+    private final Array<Chunk> chunks;
+    private final Array<Query> queries;
+    private int size;
+
+    // Telemetry: most entities held at once, and chunks allocated by add() rather than reserve()
+    private int peakSize;
+    private int chunkMisses;
+
+    // First column of every component type, indexed by type id, or -1 if the type is absent
+    final int[] floatColumnStart;
+    final int[] intColumnStart;
+    final int[] longColumnStart;
+    final int floatColumnCount;
+    final int intColumnCount;
+    final int longColumnCount;
+
+    /**
+     * Creates an empty archetype.
+     *
+     * @param types The component types, without duplicates
+     * @param chunkCapacity Entities per chunk
+     */
+    Archetype(ComponentType[] types, int chunkCapacity) {
+        this.types = types.clone();
+        this.chunkCapacity = chunkCapacity;
+        this.chunks = new Array<>(true, 4, Chunk[]::new);
+        this.queries = new Array<>(true, 4, Query[]::new);
+        this.floatColumnStart = new int[ComponentType.MAX_TYPES];
+        this.intColumnStart = new int[ComponentType.MAX_TYPES];
+        this.longColumnStart = new int[ComponentType.MAX_TYPES];
+        Arrays.fill(floatColumnStart, -1);
+        Arrays.fill(intColumnStart, -1);
+        Arrays.fill(longColumnStart, -1);
+
+        long mask = 0;
+        int floatColumns = 0;
+        int intColumns = 0;
+        int longColumns = 0;
+        for (ComponentType type : this.types) {
+            mask |= type.getMask();
+            floatColumnStart[type.getId()] = floatColumns;
+            intColumnStart[type.getId()] = intColumns;
+            longColumnStart[type.getId()] = longColumns;
+            floatColumns += type.getFloatFields();
+            intColumns += type.getIntFields();
+            longColumns += type.getLongFields();
+        }
+        this.mask = mask;
+        this.floatColumnCount = floatColumns;
+        this.intColumnCount = intColumns;
+        this.longColumnCount = longColumns;
+        this.size = 0;
+        this.peakSize = 0;
+        this.chunkMisses = 0;
+    }
+
+    /**
+     * Checks whether entities of this archetype have a component.
+     *
+     * @param type The component
+     * @return true if the component is part of this archetype
+     */
+    public boolean has(ComponentType type) {
+        return (mask & type.getMask()) != 0;
+    }
+
+    /**
+     * Appends an entity with zeroed components.
+     *
+     * @param entity Handle of the new entity
+     * @return The entity's row
+     */
+    int add(int entity) {
+        int chunkIndex = size / chunkCapacity;
+        if (chunkIndex == chunks.size) {
+            addChunk();
+            chunkMisses++;
+        }
+        Chunk chunk = chunks.get(chunkIndex);
+        int slot = size % chunkCapacity;
+        chunk.clearSlot(slot);
+        chunk.setEntity(slot, entity);
+        chunk.size++;
+        int row = size++;
+        if (size > peakSize) {
+            peakSize = size;
+        }
+        return row;
+    }
+
+    /**
+     * Allocates chunks until the archetype can hold a number of entities without allocating.
+     *
+     * @param entities Entities to make room for
+     */
+    void reserve(int entities) {
+        while (chunks.size * chunkCapacity < entities) {
+            addChunk();
+        }
+    }
+
+    /**
+     * Appends an empty chunk and hands it to every matching query.
+     */
+    private void addChunk() {
+        Chunk chunk = new Chunk(this);
+        chunks.add(chunk);
+        for (int q = 0; q < queries.size; q++) {
+            queries.get(q).addChunk(chunk);
+        }
+    }
+
+    /**
+     * Removes the entity in a row by moving the last entity into it.
+     *
+     * @param row The row to remove
+     * @return Handle of the entity moved into the row, or {@link EntityRegistry#NONE} if none moved
+     */
+    int remove(int row) {
+        int last = size - 1;
+        Chunk lastChunk = chunks.get(last / chunkCapacity);
+        int lastSlot = last % chunkCapacity;
+        int moved = EntityRegistry.NONE;
+        if (row != last) {
+            getChunk(row).copyFrom(lastChunk, lastSlot, row % chunkCapacity);
+            moved = lastChunk.getEntity(lastSlot);
+        }
+        lastChunk.size--;
+        size--;
+        return moved;
+    }
+
+    /**
+     * Removes every entity, keeping the chunks for reuse.
+     */
+    void clear() {
+        for (int c = 0; c < chunks.size; c++) {
+            chunks.get(c).size = 0;
+        }
+        size = 0;
+    }
+
+    /**
+     * Registers a query matching this archetype, so it learns about new chunks.
+     *
+     * @param query The query
+     */
+    void addQuery(Query query) {
+        queries.add(query);
+        for (int c = 0; c < chunks.size; c++) {
+            query.addChunk(chunks.get(c));
+        }
+    }
+
+    /**
+     * Gets the chunk holding a row.
+     *
+     * @param row The row
+     * @return The chunk
+     */
+    Chunk getChunk(int row) {
+        return chunks.get(row / chunkCapacity);
+    }
+
+    // Getters
+    public long getMask() {
+        return mask;
+    }
+
+    public ComponentType[] getTypes() {
+        return types;
+    }
+
+    public int getChunkCapacity() {
+        return chunkCapacity;
+    }
+
+    public Array<Chunk> getChunks() {
+        return chunks;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of entities the allocated chunks hold, which is what the archetype
+     * retains once its entities are gone.
+     *
+     * @return Entity capacity
+     */
+    public int getCapacity() {
+        return chunks.size * chunkCapacity;
+    }
+
+    /**
+     * Gets the most entities the archetype held at once.
+     *
+     * @return Peak entity count
+     */
+    public int getPeakSize() {
+        return peakSize;
+    }
+
+    /**
+     * Gets the number of chunks allocated because an entity did not fit the reserved ones.
+     *
+     * @return Chunk allocations during play
+     */
+    public int getChunkMisses() {
+        return chunkMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "Archetype" + Arrays.toString(types);
+    }
+}
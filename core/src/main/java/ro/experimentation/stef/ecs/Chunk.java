@@ -0,0 +1,171 @@
+package ro.experimentation.stef.ecs;
+
+/**
+ * A fixed-capacity block of entities sharing one archetype.
+ * Every component field is a primitive column indexed by slot, and slots
+ * {@code [0, size())} are always occupied, so systems walk plain arrays.
+ * <p>
+ * Column arrays never change for the lifetime of a chunk, so a system may fetch them
+ * once per chunk and index them in its inner loop.
+ */
+public final class Chunk {
+    private final Archetype archetype;
+    private final int[] entities;
+    private final float[][] floats;
+    private final int[][] ints;
+    private final long[][] longs;
+    int size;
+
+    /**
+     * Creates an empty chunk with a column for every field of the archetype.
+     *
+     * @param archetype The archetype whose layout this chunk uses
+     */
+    Chunk(Archetype archetype) {
+        int capacity = archetype.getChunkCapacity();
+        this.archetype = archetype;
+        this.entities = new int[capacity];
+        this.floats = new float[archetype.floatColumnCount][capacity];
+        this.ints = new int[archetype.intColumnCount][capacity];
+        this.longs = new long[archetype.longColumnCount][capacity];
+        this.size = 0;
+    }
+
+    /**
+     * Gets a float column.
+     *
+     * @param type The component
+     * @param field Index of the float field within the component
+     * @return The column, indexed by slot
+     */
+    public float[] floats(ComponentType type, int field) {
+        int start = archetype.floatColumnStart[type.getId()];
+        if (start < 0 || field >= type.getFloatFields()) {
+            throw new IllegalArgumentException(archetype + " has no float field " + field + " of " + type);
+        }
+        return floats[start + field];
+    }
+
+    /**
+     * Gets an int column.
+     *
+     * @param type The component
+     * @param field Index of the int field within the component
+     * @return The column, indexed by slot
+     */
+    public int[] ints(ComponentType type, int field) {
+        int start = archetype.intColumnStart[type.getId()];
+        if (start < 0 || field >= type.getIntFields()) {
+            throw new IllegalArgumentException(archetype + " has no int field " + field + " of " + type);
+        }
+        return ints[start + field];
+    }
+
+    /**
+     * Gets a long column.
+     *
+     * @param type The component
+     * @param field Index of the long field within the component
+     * @return The column, indexed by slot
+     */
+    public long[] longs(ComponentType type, int field) {
+        int start = archetype.longColumnStart[type.getId()];
+        if (start < 0 || field >= type.getLongFields()) {
+            throw new IllegalArgumentException(archetype + " has no long field " + field + " of " + type);
+        }
+        return longs[start + field];
+    }
+
+    /**
+     * Gets the handle of the entity in a slot.
+     *
+     * @param slot The slot
+     * @return The entity handle
+     */
+    public int getEntity(int slot) {
+        return entities[slot];
+    }
+
+    /**
+     * Copies an entity of the same archetype into a slot, overwriting it.
+     *
+     * @param source Chunk holding the entity
+     * @param sourceSlot Slot of the entity in the source chunk
+     * @param slot Slot to overwrite in this chunk
+     */
+    void copyFrom(Chunk source, int sourceSlot, int slot) {
+        entities[slot] = source.entities[sourceSlot];
+        for (int c = 0; c < floats.length; c++) {
+            floats[c][slot] = source.floats[c][sourceSlot];
+        }
+        for (int c = 0; c < ints.length; c++) {
+            ints[c][slot] = source.ints[c][sourceSlot];
+        }
+        for (int c = 0; c < longs.length; c++) {
+            longs[c][slot] = source.longs[c][sourceSlot];
+        }
+    }
+
+    /**
+     * Copies the components this chunk shares with an entity of another archetype.
+     * Fields the source lacks are zeroed.
+     *
+     * @param source Chunk holding the entity
+     * @param sourceSlot Slot of the entity in the source chunk
+     * @param slot Slot to overwrite in this chunk
+     */
+    void copySharedFrom(Chunk source, int sourceSlot, int slot) {
+        entities[slot] = source.entities[sourceSlot];
+        Archetype sourceArchetype = source.archetype;
+        for (ComponentType type : archetype.getTypes()) {
+            int id = type.getId();
+            boolean shared = sourceArchetype.has(type);
+            for (int f = 0; f < type.getFloatFields(); f++) {
+                floats[archetype.floatColumnStart[id] + f][slot] =
+                    shared ? source.floats[sourceArchetype.floatColumnStart[id] + f][sourceSlot] : 0f;
+            }
+            for (int f = 0; f < type.getIntFields(); f++) {
+                ints[archetype.intColumnStart[id] + f][slot] =
+                    shared ? source.ints[sourceArchetype.intColumnStart[id] + f][sourceSlot] : 0;
+            }
+            for (int f = 0; f < type.getLongFields(); f++) {
+                longs[archetype.longColumnStart[id] + f][slot] =
+                    shared ? source.longs[sourceArchetype.longColumnStart[id] + f][sourceSlot] : 0L;
+            }
+        }
+    }
+
+    /**
+     * Zeroes every field of a slot, so a new entity starts from default values.
+     *
+     * @param slot The slot to clear
+     */
+    void clearSlot(int slot) {
+        for (int c = 0; c < floats.length; c++) {
+            floats[c][slot] = 0f;
+        }
+        for (int c = 0; c < ints.length; c++) {
+            ints[c][slot] = 0;
+        }
+        for (int c = 0; c < longs.length; c++) {
+            longs[c][slot] = 0L;
+        }
+    }
+
+    void setEntity(int slot, int entity) {
+        entities[slot] = entity;
+    }
+
+    // Getters
+    public Archetype getArchetype() {
+        return archetype;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return entities.length;
+    }
+}
@@ -0,0 +1,94 @@
+package ro.experimentation.stef.ecs;
+
+/**
+ * Describes a component as a fixed number of primitive fields.
+ * Chunks store every field as its own array, so a component with two float fields,
+ * like a position, becomes two float columns. A component without fields is a tag:
+ * it only affects which archetype and queries an entity belongs to.
+ * <p>
+ * Types get consecutive ids as they are defined, and at most {@link #MAX_TYPES} may exist,
+ * so a set of types fits in a long bit mask.
+ */
+public final class ComponentType {
+    public static final int MAX_TYPES = 64;
+
+    private static int nextId = 0;
+
+    private final int id;
+    private final String name;
+    private final int floatFields;
+    private final int intFields;
+    private final int longFields;
+
+    private ComponentType(int id, String name, int floatFields, int intFields, int longFields) {
+        this.id = id;
+        this.name = name;
+        this.floatFields = floatFields;
+        this.intFields = intFields;
+        this.longFields = longFields;
+    }
+
+    /**
+     * Defines a new component type.
+     *
+     * @param name Name used in messages
+     * @param floatFields Number of float fields
+     * @param intFields Number of int fields
+     * @param longFields Number of long fields
+     * @return The new type
+     */
+    public static synchronized ComponentType define(String name, int floatFields, int intFields, int longFields) {
+        if (nextId == MAX_TYPES) {
+            throw new IllegalStateException("Too many component types, " + MAX_TYPES + " at most: " + name);
+        }
+        if (floatFields < 0 || intFields < 0 || longFields < 0) {
+            throw new IllegalArgumentException("Field counts must not be negative: " + name);
+        }
+        return new ComponentType(nextId++, name, floatFields, intFields, longFields);
+    }
+
+    /**
+     * Defines a component type without fields.
+     *
+     * @param name Name used in messages
+     * @return The new tag type
+     */
+    public static ComponentType tag(String name) {
+        return define(name, 0, 0, 0);
+    }
+
+    /**
+     * Gets the bit of this type in archetype and query masks.
+     *
+     * @return The mask bit
+     */
+    public long getMask() {
+        return 1L << id;
+    }
+
+    // Getters
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getFloatFields() {
+        return floatFields;
+    }
+
+    public int getIntFields() {
+        return intFields;
+    }
+
+    public int getLongFields() {
+        return longFields;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
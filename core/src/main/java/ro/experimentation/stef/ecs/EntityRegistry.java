@@ -0,0 +1,465 @@
+package ro.experimentation.stef.ecs;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+import java.util.Arrays;
+
+/**
+ * Creates and destroys entities and owns every archetype and query.
+ * <p>
+ * An entity is an int handle combining a slot index with a generation. Destroying an
+ * entity bumps its index's generation before the index is reused, so a stale handle kept
+ * by a system is detected by {@link #isAlive(int)} instead of silently addressing the
+ * entity that took its place. Generations wrap after {@link #MAX_GENERATION}, so a handle
+ * must not be held across that many reuses of its index.
+ * <p>
+ * Systems that run while iterating a query use {@link #destroyLater(int)}, which keeps
+ * rows stable until {@link #flush()} at the end of the tick.
+ */
+public class EntityRegistry {
+    public static final int NONE = -1;
+    public static final int DEFAULT_CHUNK_CAPACITY = 256;
+
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+    public static final int MAX_ENTITIES = 1 << INDEX_BITS;
+    public static final int MAX_GENERATION = (1 << (31 - INDEX_BITS)) - 1;
+
+    private final int chunkCapacity;
+    private final LongMap<Archetype> archetypesByMask;
+    private final Array<Archetype> archetypes;
+    private final Array<Query> queries;
+
+    // Per entity index
+    private int[] generations;
+    private Archetype[] archetypeOf;
+    private int[] rowOf;
+    private boolean[] destroyPending;
+    private final IntArray freeIndices;
+    private int nextIndex;
+
+    private final IntArray pendingDestroys;
+    private int entityCount;
+
+    // Telemetry: most entities alive at once, and times the per-index arrays had to grow
+    private int peakEntityCount;
+    private int indexMisses;
+
+    /**
+     * Creates a registry with {@link #DEFAULT_CHUNK_CAPACITY} entities per chunk.
+     */
+    public EntityRegistry() {
+        this(DEFAULT_CHUNK_CAPACITY, 256);
+    }
+
+    /**
+     * Creates a registry.
+     *
+     * @param chunkCapacity Entities per chunk
+     * @param initialEntityCapacity Entities the registry can track before growing
+     */
+    public EntityRegistry(int chunkCapacity, int initialEntityCapacity) {
+        if (chunkCapacity <= 0) {
+            throw new IllegalArgumentException("chunkCapacity must be positive: " + chunkCapacity);
+        }
+        int capacity = Math.max(1, initialEntityCapacity);
+        this.chunkCapacity = chunkCapacity;
+        this.archetypesByMask = new LongMap<>();
+        this.archetypes = new Array<>(true, 8, Archetype[]::new);
+        this.queries = new Array<>(true, 8, Query[]::new);
+        this.generations = new int[capacity];
+        this.archetypeOf = new Archetype[capacity];
+        this.rowOf = new int[capacity];
+        this.destroyPending = new boolean[capacity];
+        this.freeIndices = new IntArray(capacity);
+        this.nextIndex = 0;
+        this.pendingDestroys = new IntArray(64);
+        this.entityCount = 0;
+        this.peakEntityCount = 0;
+        this.indexMisses = 0;
+    }
+
+    /**
+     * Allocates an archetype's chunks ahead of time, so creating up to a number of its
+     * entities does not allocate.
+     *
+     * @param archetype The archetype
+     * @param entities Entities to make room for
+     */
+    public void reserve(Archetype archetype, int entities) {
+        archetype.reserve(entities);
+    }
+
+    /**
+     * Grows the per-index arrays ahead of time, so up to a number of entities can be alive
+     * at once without them growing.
+     *
+     * @param entities Entities to make room for
+     */
+    public void reserveIndices(int entities) {
+        int capacity = Math.min(entities, MAX_ENTITIES);
+        if (capacity > generations.length) {
+            resize(capacity);
+        }
+        freeIndices.ensureCapacity(capacity - freeIndices.size);
+    }
+
+    /**
+     * Gets the archetype for a set of component types, creating it on first use.
+     * The order of the types does not matter.
+     *
+     * @param types The component types
+     * @return The archetype
+     */
+    public Archetype archetype(ComponentType... types) {
+        long mask = mask(types);
+        Archetype archetype = archetypesByMask.get(mask);
+        if (archetype != null) {
+            return archetype;
+        }
+        if (Long.bitCount(mask) != types.length) {
+            throw new IllegalArgumentException("Duplicate component type in " + Arrays.toString(types));
+        }
+        archetype = new Archetype(types, chunkCapacity);
+        archetypesByMask.put(mask, archetype);
+        archetypes.add(archetype);
+        for (int q = 0; q < queries.size; q++) {
+            Query query = queries.get(q);
+            if (query.matches(archetype)) {
+                query.addArchetype(archetype);
+            }
+        }
+        return archetype;
+    }
+
+    /**
+     * Gets the query for entities having every given component.
+     *
+     * @param required The required component types
+     * @return The cached query
+     */
+    public Query query(ComponentType... required) {
+        return query(mask(required), 0L);
+    }
+
+    /**
+     * Gets the query for entities having every required component and no excluded one.
+     * Queries are cached per filter, so repeated calls return the same instance.
+     *
+     * @param requiredMask Mask of the required component types
+     * @param excludedMask Mask of the excluded component types
+     * @return The cached query
+     */
+    public Query query(long requiredMask, long excludedMask) {
+        for (int q = 0; q < queries.size; q++) {
+            Query query = queries.get(q);
+            if (query.getRequiredMask() == requiredMask && query.getExcludedMask() == excludedMask) {
+                return query;
+            }
+        }
+        Query query = new Query(requiredMask, excludedMask);
+        queries.add(query);
+        for (int a = 0; a < archetypes.size; a++) {
+            Archetype archetype = archetypes.get(a);
+            if (query.matches(archetype)) {
+                query.addArchetype(archetype);
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Combines component types into a mask.
+     *
+     * @param types The component types
+     * @return The mask
+     */
+    public static long mask(ComponentType... types) {
+        long mask = 0;
+        for (ComponentType type : types) {
+            mask |= type.getMask();
+        }
+        return mask;
+    }
+
+    /**
+     * Creates an entity with zeroed components.
+     *
+     * @param archetype The entity's archetype
+     * @return The entity handle
+     */
+    public int create(Archetype archetype) {
+        int index;
+        if (freeIndices.size > 0) {
+            index = freeIndices.pop();
+        } else {
+            if (nextIndex == MAX_ENTITIES) {
+                throw new IllegalStateException("Too many entities: " + MAX_ENTITIES);
+            }
+            index = nextIndex++;
+            if (index == generations.length) {
+                resize(Math.min(generations.length * 2, MAX_ENTITIES));
+                indexMisses++;
+            }
+        }
+        int entity = (generations[index] << INDEX_BITS) | index;
+        archetypeOf[index] = archetype;
+        rowOf[index] = archetype.add(entity);
+        entityCount++;
+        if (entityCount > peakEntityCount) {
+            peakEntityCount = entityCount;
+        }
+        return entity;
+    }
+
+    /**
+     * Destroys an entity now. The archetype's last entity moves into its row, so this
+     * must not be called while iterating that archetype; use {@link #destroyLater(int)} there.
+     *
+     * @param entity The entity handle
+     */
+    public void destroy(int entity) {
+        if (!isAlive(entity)) {
+            throw new IllegalArgumentException("Entity is not alive: " + entity);
+        }
+        int index = entity & INDEX_MASK;
+        Archetype archetype = archetypeOf[index];
+        relocate(archetype.remove(rowOf[index]), rowOf[index]);
+        release(index);
+    }
+
+    /**
+     * Queues an entity for destruction at the next {@link #flush()}.
+     * Queuing an entity twice destroys it once.
+     *
+     * @param entity The entity handle
+     */
+    public void destroyLater(int entity) {
+        if (!isAlive(entity)) {
+            throw new IllegalArgumentException("Entity is not alive: " + entity);
+        }
+        int index = entity & INDEX_MASK;
+        if (!destroyPending[index]) {
+            destroyPending[index] = true;
+            pendingDestroys.add(entity);
+        }
+    }
+
+    /**
+     * Destroys every entity queued with {@link #destroyLater(int)}.
+     */
+    public void flush() {
+        for (int i = 0; i < pendingDestroys.size; i++) {
+            int entity = pendingDestroys.get(i);
+            destroyPending[entity & INDEX_MASK] = false;
+            destroy(entity);
+        }
+        pendingDestroys.clear();
+    }
+
+    /**
+     * Moves an entity to the archetype with one more component, keeping the components
+     * it already has. The new component starts zeroed.
+     *
+     * @param entity The entity handle
+     * @param type The component to add
+     */
+    public void addComponent(int entity, ComponentType type) {
+        Archetype current = getArchetype(entity);
+        if (current.has(type)) {
+            return;
+        }
+        moveTo(entity, withType(current, type, true));
+    }
+
+    /**
+     * Moves an entity to the archetype with one component fewer, keeping the others.
+     *
+     * @param entity The entity handle
+     * @param type The component to remove
+     */
+    public void removeComponent(int entity, ComponentType type) {
+        Archetype current = getArchetype(entity);
+        if (!current.has(type)) {
+            return;
+        }
+        moveTo(entity, withType(current, type, false));
+    }
+
+    /**
+     * Gets the archetype with a component added to or removed from another archetype's types.
+     */
+    private Archetype withType(Archetype archetype, ComponentType type, boolean add) {
+        ComponentType[] types = archetype.getTypes();
+        ComponentType[] changed = new ComponentType[add ? types.length + 1 : types.length - 1];
+        int n = 0;
+        for (ComponentType existing : types) {
+            if (existing != type) {
+                changed[n++] = existing;
+            }
+        }
+        if (add) {
+            changed[n] = type;
+        }
+        return archetype(changed);
+    }
+
+    /**
+     * Copies an entity's shared components into another archetype and removes it from its current one.
+     */
+    private void moveTo(int entity, Archetype target) {
+        int index = entity & INDEX_MASK;
+        Archetype source = archetypeOf[index];
+        int sourceRow = rowOf[index];
+        int targetRow = target.add(entity);
+        Chunk sourceChunk = source.getChunk(sourceRow);
+        target.getChunk(targetRow).copySharedFrom(sourceChunk, sourceRow % source.getChunkCapacity(),
+                                                  targetRow % target.getChunkCapacity());
+        relocate(source.remove(sourceRow), sourceRow);
+        archetypeOf[index] = target;
+        rowOf[index] = targetRow;
+    }
+
+    /**
+     * Destroys every entity, keeping archetypes, chunks and queries for reuse.
+     */
+    public void clear() {
+        for (int a = 0; a < archetypes.size; a++) {
+            archetypes.get(a).clear();
+        }
+        for (int index = 0; index < nextIndex; index++) {
+            if (archetypeOf[index] != null) {
+                archetypeOf[index] = null;
+                destroyPending[index] = false;
+                generations[index] = (generations[index] + 1) & MAX_GENERATION;
+                freeIndices.add(index);
+            }
+        }
+        pendingDestroys.clear();
+        entityCount = 0;
+    }
+
+    /**
+     * Checks whether a handle refers to an entity that has not been destroyed.
+     *
+     * @param entity The entity handle
+     * @return true if the entity exists
+     */
+    public boolean isAlive(int entity) {
+        if (entity < 0) {
+            return false;
+        }
+        int index = entity & INDEX_MASK;
+        return index < nextIndex
+            && archetypeOf[index] != null
+            && generations[index] == entity >>> INDEX_BITS;
+    }
+
+    /**
+     * Checks whether an entity is queued for destruction.
+     *
+     * @param entity The entity handle
+     * @return true if {@link #destroyLater(int)} was called since the last flush
+     */
+    public boolean isDestroyPending(int entity) {
+        return isAlive(entity) && destroyPending[entity & INDEX_MASK];
+    }
+
+    /**
+     * Gets the chunk holding an entity's components. Valid until the entity's archetype changes.
+     *
+     * @param entity The entity handle
+     * @return The chunk
+     */
+    public Chunk getChunk(int entity) {
+        int index = checkedIndex(entity);
+        return archetypeOf[index].getChunk(rowOf[index]);
+    }
+
+    /**
+     * Gets an entity's slot within its chunk. Valid until the entity's archetype changes.
+     *
+     * @param entity The entity handle
+     * @return The slot
+     */
+    public int getSlot(int entity) {
+        int index = checkedIndex(entity);
+        return rowOf[index] % archetypeOf[index].getChunkCapacity();
+    }
+
+    /**
+     * Gets an entity's archetype.
+     *
+     * @param entity The entity handle
+     * @return The archetype
+     */
+    public Archetype getArchetype(int entity) {
+        return archetypeOf[checkedIndex(entity)];
+    }
+
+    private int checkedIndex(int entity) {
+        if (!isAlive(entity)) {
+            throw new IllegalArgumentException("Entity is not alive: " + entity);
+        }
+        return entity & INDEX_MASK;
+    }
+
+    /**
+     * Points the entity that was moved into a row at that row.
+     */
+    private void relocate(int movedEntity, int row) {
+        if (movedEntity != NONE) {
+            rowOf[movedEntity & INDEX_MASK] = row;
+        }
+    }
+
+    /**
+     * Retires an index, bumping its generation so existing handles go stale.
+     */
+    private void release(int index) {
+        archetypeOf[index] = null;
+        generations[index] = (generations[index] + 1) & MAX_GENERATION;
+        freeIndices.add(index);
+        entityCount--;
+    }
+
+    private void resize(int capacity) {
+        generations = Arrays.copyOf(generations, capacity);
+        archetypeOf = Arrays.copyOf(archetypeOf, capacity);
+        rowOf = Arrays.copyOf(rowOf, capacity);
+        destroyPending = Arrays.copyOf(destroyPending, capacity);
+    }
+
+    // Getters
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    public int getChunkCapacity() {
+        return chunkCapacity;
+    }
+
+    public int getPeakEntityCount() {
+        return peakEntityCount;
+    }
+
+    /**
+     * Counts every allocation made because reserved storage ran out: chunks added to any
+     * archetype on demand, plus growths of the per-index arrays. Stays constant once play
+     * fits the reservations.
+     *
+     * @return Storage misses since the registry was created
+     */
+    public int getStorageMisses() {
+        int misses = indexMisses;
+        for (int a = 0; a < archetypes.size; a++) {
+            misses += archetypes.get(a).getChunkMisses();
+        }
+        return misses;
+    }
+
+    public Array<Archetype> getArchetypes() {
+        return archetypes;
+    }
+}
@@ -0,0 +1,86 @@
+package ro.experimentation.stef.ecs;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A cached list of the chunks whose archetype has every required component and none
+ * of the excluded ones.
+ * Queries are created through {@link EntityRegistry#query}, which hands out one instance
+ * per distinct filter. Matching archetypes register their chunks as they create them, so
+ * iterating a query is a walk over a flat chunk list with no per-frame matching:
+ * <pre>
+ * for (int c = 0; c &lt; query.chunkCount(); c++) {
+ *     Chunk chunk = query.getChunk(c);
+ *     float[] x = chunk.floats(POSITION, X);
+ *     for (int slot = 0; slot &lt; chunk.size(); slot++) { ... }
+ * }
+ * </pre>
+ * Chunks emptied by removals stay in the list with a size of zero.
+ */
+public final class Query {
+    private final long requiredMask;
+    private final long excludedMask;
+    private final Array<Archetype> archetypes;
+    private final Array<Chunk> chunks;
+
+    Query(long requiredMask, long excludedMask) {
+        this.requiredMask = requiredMask;
+        this.excludedMask = excludedMask;
+        this.archetypes = new Array<>(true, 4, Archetype[]::new);
+        this.chunks = new Array<>(true, 8, Chunk[]::new);
+    }
+
+    /**
+     * Checks whether an archetype's entities belong to this query.
+     *
+     * @param archetype The archetype
+     * @return true if it has every required and no excluded component
+     */
+    boolean matches(Archetype archetype) {
+        long mask = archetype.getMask();
+        return (mask & requiredMask) == requiredMask && (mask & excludedMask) == 0;
+    }
+
+    void addArchetype(Archetype archetype) {
+        archetypes.add(archetype);
+        archetype.addQuery(this);
+    }
+
+    void addChunk(Chunk chunk) {
+        chunks.add(chunk);
+    }
+
+    /**
+     * Counts the entities matching this query.
+     *
+     * @return The entity count
+     */
+    public int size() {
+        int size = 0;
+        for (int a = 0; a < archetypes.size; a++) {
+            size += archetypes.get(a).size();
+        }
+        return size;
+    }
+
+    public int chunkCount() {
+        return chunks.size;
+    }
+
+    public Chunk getChunk(int index) {
+        return chunks.get(index);
+    }
+
+    // Getters
+    public long getRequiredMask() {
+        return requiredMask;
+    }
+
+    public long getExcludedMask() {
+        return excludedMask;
+    }
+
+    public Array<Archetype> getArchetypes() {
+        return archetypes;
+    }
+}
@@ -4,11 +4,13 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.FillViewport;
 import ro.experimentation.stef.GamesWithStef;
@@ -17,53 +19,148 @@ import ro.experimentation.stef.config.GameConfig;
 /**
  * Screen for character selection.
  * Allows players to choose their fighter before starting the game.
+ * <p>
+ * Nothing on this screen moves, so it is laid out once: the background and characters are
+ * stored in a {@link SpriteCache}, along with one highlight frame per character, and all
+ * text in a {@link BitmapFontCache}. A redraw only replays the cached geometry. While the
+ * screen is shown, continuous rendering is turned off and the backend only renders a frame
+ * when input arrives or the window changes, so an idle menu does no work at all.
  */
 public class CharacterSelectionScreen implements Screen {
+    // Character regions are baked at CHARACTER_TEXTURE_SCALE; draw them at CHARACTER_SCALE
+    private static final float REGION_SCALE = GameConfig.CHARACTER_SCALE / GameConfig.CHARACTER_TEXTURE_SCALE;
+
     private final GamesWithStef game;
-    private final Texture[] characterTextures;
-    private final Texture backgroundTexture;
+    private final TextureRegion[] characterRegions;
     private final SpriteBatch spriteBatch;
-    private final ShapeRenderer shapeRenderer;
     private final FillViewport viewport;
-    private final BitmapFont font;
-    private final GlyphLayout glyphLayout;
-    
+
+    // Cached geometry, built once in the constructor
+    private final SpriteCache spriteCache;
+    private final int backgroundCache;
+    private final int[] highlightCaches;
+    private final BitmapFontCache textCache;
+
     private int selectedCharacterIndex;
-    
+
     /**
      * Creates a new character selection screen.
      *
      * @param game The main game instance
-     * @param characterTextures Array of character textures
-     * @param backgroundTexture The background texture
+     * @param characterRegions Array of character atlas regions
+     * @param backgroundRegion The background atlas region
+     * @param whiteRegion Solid white atlas region, tinted to draw the selection highlight
+     * @param font Font for the title, instructions and names; owned by the caller
      */
-    public CharacterSelectionScreen(GamesWithStef game, Texture[] characterTextures, Texture backgroundTexture) {
+    public CharacterSelectionScreen(GamesWithStef game, TextureRegion[] characterRegions, TextureRegion backgroundRegion,
+                                    TextureRegion whiteRegion, BitmapFont font) {
         this.game = game;
-        this.characterTextures = characterTextures;
-        this.backgroundTexture = backgroundTexture;
+        this.characterRegions = characterRegions;
         this.selectedCharacterIndex = 0;
-        
+
         this.spriteBatch = new SpriteBatch();
-        this.shapeRenderer = new ShapeRenderer();
         this.viewport = new FillViewport(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
-        
-        this.font = new BitmapFont();
-        this.font.getData().setScale(GameConfig.DEFAULT_FONT_SCALE);
-        this.font.setColor(Color.WHITE);
-        this.glyphLayout = new GlyphLayout();
+
+        // Background, characters, and four edges per highlight frame
+        this.spriteCache = new SpriteCache(1 + characterRegions.length * 5, false);
+        this.backgroundCache = cacheBackground(backgroundRegion);
+        this.highlightCaches = new int[characterRegions.length];
+        for (int i = 0; i < characterRegions.length; i++) {
+            highlightCaches[i] = cacheHighlight(i, whiteRegion);
+        }
+        this.textCache = cacheText(font);
+    }
+
+    /**
+     * Caches the background and every character sprite.
+     *
+     * @param backgroundRegion The background atlas region
+     * @return The cache id
+     */
+    private int cacheBackground(TextureRegion backgroundRegion) {
+        spriteCache.beginCache();
+        spriteCache.add(backgroundRegion, 0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+
+        float characterY = getCharacterY();
+        for (int i = 0; i < characterRegions.length; i++) {
+            TextureRegion region = characterRegions[i];
+            spriteCache.add(region, calculateCharacterX(i, REGION_SCALE, region), characterY,
+                            region.getRegionWidth() * REGION_SCALE,
+                            region.getRegionHeight() * REGION_SCALE);
+        }
+        return spriteCache.endCache();
+    }
+
+    /**
+     * Caches the selection highlight around one character as four tinted edges.
+     *
+     * @param index Character index
+     * @param whiteRegion Solid white atlas region
+     * @return The cache id
+     */
+    private int cacheHighlight(int index, TextureRegion whiteRegion) {
+        TextureRegion region = characterRegions[index];
+        float thickness = GameConfig.HIGHLIGHT_THICKNESS;
+        float left = calculateCharacterX(index, REGION_SCALE, region) - GameConfig.HIGHLIGHT_PADDING - thickness;
+        float bottom = getCharacterY() - GameConfig.HIGHLIGHT_PADDING - thickness;
+        float width = region.getRegionWidth() * REGION_SCALE + (GameConfig.HIGHLIGHT_PADDING + thickness) * 2;
+        float height = region.getRegionHeight() * REGION_SCALE + (GameConfig.HIGHLIGHT_PADDING + thickness) * 2;
+
+        spriteCache.beginCache();
+        spriteCache.setColor(Color.YELLOW);
+        spriteCache.add(whiteRegion, left, bottom, width, thickness);
+        spriteCache.add(whiteRegion, left, bottom + height - thickness, width, thickness);
+        spriteCache.add(whiteRegion, left, bottom + thickness, thickness, height - thickness * 2);
+        spriteCache.add(whiteRegion, left + width - thickness, bottom + thickness, thickness, height - thickness * 2);
+        spriteCache.setColor(Color.WHITE);
+        return spriteCache.endCache();
+    }
+
+    /**
+     * Lays out the title, instructions and character names once, each at its own scale.
+     *
+     * @param font The font to lay out with
+     * @return The cache holding every glyph
+     */
+    private BitmapFontCache cacheText(BitmapFont font) {
+        float originalScale = font.getData().scaleX;
+        BitmapFontCache cache = new BitmapFontCache(font, font.usesIntegerPositions());
+        cache.setColor(Color.WHITE);
+
+        // Title and instructions, centered on the screen
+        font.getData().setScale(GameConfig.TITLE_FONT_SCALE);
+        cache.addText("SELECT YOUR FIGHTER", 0, GameConfig.SCREEN_HEIGHT - GameConfig.CHARACTER_Y_OFFSET,
+                      GameConfig.SCREEN_WIDTH, Align.center, false);
+        font.getData().setScale(GameConfig.INSTRUCTION_FONT_SCALE);
+        cache.addText("Use LEFT/RIGHT arrows - Press ENTER to confirm", 0, GameConfig.CHARACTER_Y_OFFSET,
+                      GameConfig.SCREEN_WIDTH, Align.center, false);
+
+        // Names, centered under each character
+        font.getData().setScale(GameConfig.NAME_FONT_SCALE);
+        float nameY = getCharacterY() - GameConfig.CHARACTER_NAME_OFFSET;
+        for (int i = 0; i < characterRegions.length; i++) {
+            TextureRegion region = characterRegions[i];
+            cache.addText(GameConfig.CHARACTER_NAMES[i], calculateCharacterX(i, REGION_SCALE, region), nameY,
+                          region.getRegionWidth() * REGION_SCALE, Align.center, false);
+        }
+
+        font.getData().setScale(originalScale);
+        return cache;
     }
-    
+
     @Override
     public void show() {
-        // Called when this screen becomes the current screen
+        // Only render when input or a window event asks for it
+        Gdx.graphics.setContinuousRendering(false);
+        Gdx.graphics.requestRendering();
     }
-    
+
     @Override
     public void render(float delta) {
         handleInput();
         draw();
     }
-    
+
     /**
      * Handles player input for character selection.
      */
@@ -71,159 +168,100 @@ public class CharacterSelectionScreen implements Screen {
         if (Gdx.input.isKeyJustPressed(Input.Keys.LEFT)) {
             selectedCharacterIndex--;
             if (selectedCharacterIndex < 0) {
-                selectedCharacterIndex = characterTextures.length - 1;
+                selectedCharacterIndex = characterRegions.length - 1;
             }
         } else if (Gdx.input.isKeyJustPressed(Input.Keys.RIGHT)) {
             selectedCharacterIndex++;
-            if (selectedCharacterIndex >= characterTextures.length) {
+            if (selectedCharacterIndex >= characterRegions.length) {
                 selectedCharacterIndex = 0;
             }
         }
-        
+
         if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER) || Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
             startGame();
         }
     }
-    
+
     /**
-     * Draws the character selection screen.
+     * Draws the character selection screen by replaying the cached geometry.
+     * Every rendered frame is a fresh back buffer, so this runs in full each time.
      */
     private void draw() {
         ScreenUtils.clear(Color.BLACK);
         viewport.apply();
+
+        // SpriteCache leaves blending to the caller; the character sprites need it
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        spriteCache.setProjectionMatrix(viewport.getCamera().combined);
+        spriteCache.begin();
+        spriteCache.draw(backgroundCache);
+        spriteCache.draw(highlightCaches[selectedCharacterIndex]);
+        spriteCache.end();
+
         spriteBatch.setProjectionMatrix(viewport.getCamera().combined);
-        
         spriteBatch.begin();
-        
-        // Draw background
-        spriteBatch.draw(backgroundTexture, 0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
-        
-        // Draw title text
-        drawTextCentered("SELECT YOUR FIGHTER", 
-                        GameConfig.SCREEN_HEIGHT - GameConfig.CHARACTER_Y_OFFSET, 
-                        GameConfig.TITLE_FONT_SCALE);
-        
-        // Draw instruction text
-        drawTextCentered("Use LEFT/RIGHT arrows - Press ENTER to confirm", 
-                        GameConfig.CHARACTER_Y_OFFSET, 
-                        GameConfig.INSTRUCTION_FONT_SCALE);
-        
-        // Draw characters
-        float characterY = GameConfig.SCREEN_HEIGHT / 2 - GameConfig.CHARACTER_Y_OFFSET;
-        
-        for (int i = 0; i < characterTextures.length; i++) {
-            Texture texture = characterTextures[i];
-            float characterX = calculateCharacterX(i, GameConfig.CHARACTER_SCALE, texture);
-            
-            // Draw character sprite
-            spriteBatch.draw(texture, characterX, characterY,
-                           texture.getWidth() * GameConfig.CHARACTER_SCALE,
-                           texture.getHeight() * GameConfig.CHARACTER_SCALE);
-            
-            // Draw character name
-            font.getData().setScale(GameConfig.NAME_FONT_SCALE);
-            glyphLayout.setText(font, GameConfig.CHARACTER_NAMES[i]);
-            float nameX = characterX + (texture.getWidth() * GameConfig.CHARACTER_SCALE / 2) - (glyphLayout.width / 2);
-            float nameY = characterY - GameConfig.CHARACTER_NAME_OFFSET;
-            font.draw(spriteBatch, GameConfig.CHARACTER_NAMES[i], nameX, nameY);
-            font.getData().setScale(GameConfig.DEFAULT_FONT_SCALE);
-        }
-        
+        textCache.draw(spriteBatch);
         spriteBatch.end();
-        
-        // Draw selection highlight box
-        drawSelectionHighlight(characterY);
     }
-    
+
     /**
-     * Draws the selection highlight around the selected character.
+     * Gets the y position shared by every character.
      *
-     * @param characterY The y position of characters
+     * @return The y position
      */
-    private void drawSelectionHighlight(float characterY) {
-        shapeRenderer.setProjectionMatrix(viewport.getCamera().combined);
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        shapeRenderer.setColor(Color.YELLOW);
-        
-        Texture selectedTexture = characterTextures[selectedCharacterIndex];
-        float selectedX = calculateCharacterX(selectedCharacterIndex, GameConfig.CHARACTER_SCALE, selectedTexture);
-        float boxWidth = selectedTexture.getWidth() * GameConfig.CHARACTER_SCALE;
-        float boxHeight = selectedTexture.getHeight() * GameConfig.CHARACTER_SCALE;
-        
-        // Draw thick selection box
-        for (int i = 0; i < GameConfig.HIGHLIGHT_THICKNESS; i++) {
-            shapeRenderer.rect(selectedX - GameConfig.HIGHLIGHT_PADDING - i, 
-                             characterY - GameConfig.HIGHLIGHT_PADDING - i,
-                             boxWidth + GameConfig.HIGHLIGHT_PADDING * 2 + i * 2, 
-                             boxHeight + GameConfig.HIGHLIGHT_PADDING * 2 + i * 2);
-        }
-        
-        shapeRenderer.end();
+    private float getCharacterY() {
+        return GameConfig.SCREEN_HEIGHT / 2 - GameConfig.CHARACTER_Y_OFFSET;
     }
-    
+
     /**
      * Calculates the x position for a character.
      *
      * @param index Character index
      * @param scale Character scale
-     * @param texture Character texture
+     * @param region Character atlas region
      * @return The x position
      */
-    private float calculateCharacterX(int index, float scale, Texture texture) {
-        float spacing = GameConfig.SCREEN_WIDTH / (characterTextures.length + 1);
-        return spacing * (index + 1) - (texture.getWidth() * scale / 2);
-    }
-    
-    /**
-     * Draws centered text.
-     *
-     * @param text The text to draw
-     * @param y The y position
-     * @param scale The font scale
-     */
-    private void drawTextCentered(String text, float y, float scale) {
-        float originalScale = font.getData().scaleX;
-        font.getData().setScale(scale);
-        glyphLayout.setText(font, text);
-        float x = (GameConfig.SCREEN_WIDTH - glyphLayout.width) / 2;
-        font.draw(spriteBatch, text, x, y);
-        font.getData().setScale(originalScale);
+    private float calculateCharacterX(int index, float scale, TextureRegion region) {
+        float spacing = GameConfig.SCREEN_WIDTH / (characterRegions.length + 1);
+        return spacing * (index + 1) - (region.getRegionWidth() * scale / 2);
     }
-    
+
     /**
      * Starts the game with the selected character.
      */
     private void startGame() {
         game.startGameWithCharacter(selectedCharacterIndex);
     }
-    
+
     @Override
     public void resize(int width, int height) {
         viewport.update(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, true);
+        Gdx.graphics.requestRendering();
     }
-    
+
     @Override
     public void pause() {
     }
-    
+
     @Override
     public void resume() {
+        Gdx.graphics.requestRendering();
     }
-    
+
     @Override
     public void hide() {
+        // Gameplay animates every frame
+        Gdx.graphics.setContinuousRendering(true);
     }
-    
+
     @Override
     public void dispose() {
         if (spriteBatch != null) {
             spriteBatch.dispose();
         }
-        if (shapeRenderer != null) {
-            shapeRenderer.dispose();
-        }
-        if (font != null) {
-            font.dispose();
+        if (spriteCache != null) {
+            spriteCache.dispose();
         }
     }
 }
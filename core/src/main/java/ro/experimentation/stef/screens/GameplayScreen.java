@@ -2,298 +2,642 @@ package ro.experimentation.stef.screens;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongArray;
 import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FillViewport;
+import ro.experimentation.stef.audio.CombatSounds;
+import ro.experimentation.stef.audio.SoundEngine;
 import ro.experimentation.stef.config.GameConfig;
-import ro.experimentation.stef.entities.Enemy;
-import ro.experimentation.stef.entities.Player;
-import ro.experimentation.stef.systems.CollisionManager;
-import ro.experimentation.stef.systems.EnemyAI;
+import ro.experimentation.stef.config.PerformanceProfile;
+import ro.experimentation.stef.ecs.Archetype;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.Query;
 import ro.experimentation.stef.systems.GameAssetManager;
 import ro.experimentation.stef.systems.InputHandler;
+import ro.experimentation.stef.systems.PerformanceMonitor;
+import ro.experimentation.stef.ui.ProjectileRenderer;
 import ro.experimentation.stef.ui.UIRenderer;
-import ro.experimentation.stef.weapons.Projectile;
-import ro.experimentation.stef.weapons.ProjectileFactory;
+import ro.experimentation.stef.world.InputLog;
+import ro.experimentation.stef.world.InputState;
+import ro.experimentation.stef.world.TickPhase;
+import ro.experimentation.stef.world.World;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+import static ro.experimentation.stef.world.Components.*;
 
 /**
  * Main gameplay screen where the game action happens.
- * Manages the player, enemies, projectiles, and game logic.
+ * Adapts the headless {@link World} simulation to libGDX: it feeds keyboard input in,
+ * advances the world in fixed ticks driven by an accumulator, and draws the world state,
+ * interpolating entity positions between the last two ticks. Characters and lasers are
+ * drawn through registry queries, so any entity with the right components shows up;
+ * lasers go through a dedicated {@link ProjectileRenderer} rather than the SpriteBatch.
+ * The world is larger than the screen: the camera follows the player, clamped to the
+ * world's edges, and characters, health bars and lasers outside its view are skipped, so
+ * drawing costs the same however large the arena is. The HUD is drawn in screen space.
+ * Each tick's shots and hits are handed to {@link CombatSounds}, at most one sound per laser
+ * kind per tick.
+ * F3 toggles a performance overlay with a per-phase frame-time breakdown; F4 writes its
+ * buffered samples to a CSV file.
+ * <p>
+ * Every match is recorded into an {@link InputLog}, which F5 saves. A screen created from
+ * a saved log replays it instead of reading the keyboard, computes {@link World#checksum()}
+ * after every tick and writes the checksums to a file when the log runs out, so the same
+ * fight can be replayed on two builds and compared tick by tick.
  */
 public class GameplayScreen implements Screen {
     private final GameAssetManager assetManager;
+    private final SoundEngine soundEngine;
+    private final CombatSounds combatSounds;
     private final SpriteBatch spriteBatch;
     private final FillViewport viewport;
+    private final Matrix4 hudProjection;
+    // World-space area the camera shows this frame
+    private final Rectangle viewBounds;
     private final UIRenderer uiRenderer;
+    private final ProjectileRenderer projectileRenderer;
     private final InputHandler inputHandler;
-    private final CollisionManager collisionManager;
-    private final EnemyAI enemyAI;
-    private final ProjectileFactory projectileFactory;
-    
-    private Player player;
-    private Array<Enemy> enemies;
-    private Array<Projectile> playerProjectiles;
-    private Array<Projectile> enemyProjectiles;
-    
+    private final World world;
+
+    // Recording of this match, or the recording being replayed
+    private InputLog inputLog;
+    private final boolean replaying;
+    private final InputState replayInput;
+    private final LongArray replayChecksums;
+    private boolean replayFinished;
+
+    // Drawable entities
+    private final Query characters;
+    private final Query lasers;
+
     private boolean isPaused;
-    
+
+    // Fixed timestep state
+    private final int maxTicksPerFrame;
+    private float tickDuration;
+    private float accumulator;
+
+    // Performance overlay
+    private final PerformanceMonitor performanceMonitor;
+    private final GLProfiler glProfiler;
+    private boolean showPerformance;
+    private float performanceRefreshTimer;
+    private int frameRenderCalls;
+    private long lastStorageMisses;
+
     /**
-     * Creates a new gameplay screen.
+     * Creates a new gameplay screen for a freshly seeded match, recording its input.
      *
      * @param assetManager The asset manager
+     * @param profile The performance profile to run with
      * @param selectedCharacterIndex The index of the selected player character
      */
-    public GameplayScreen(GameAssetManager assetManager, int selectedCharacterIndex) {
+    public GameplayScreen(GameAssetManager assetManager, PerformanceProfile profile, int selectedCharacterIndex) {
+        this(assetManager, profile, new InputLog(MathUtils.random.nextLong(), profile, selectedCharacterIndex,
+                                                 measureCharacters(assetManager.getCharacterRegions())),
+             false);
+    }
+
+    /**
+     * Creates a new gameplay screen replaying a recorded match.
+     *
+     * @param assetManager The asset manager
+     * @param profile The performance profile to run with; the replay's simulation settings replace its own
+     * @param replay The recorded match
+     */
+    public GameplayScreen(GameAssetManager assetManager, PerformanceProfile profile, InputLog replay) {
+        this(assetManager, profile, replay, true);
+    }
+
+    /**
+     * Creates a new gameplay screen.
+     *
+     * @param assetManager The asset manager
+     * @param profile The performance profile to run with
+     * @param inputLog Log describing the match; recorded into, or replayed from
+     * @param replaying Whether to replay the log instead of reading the keyboard
+     */
+    private GameplayScreen(GameAssetManager assetManager, PerformanceProfile profile, InputLog inputLog,
+                           boolean replaying) {
         this.assetManager = assetManager;
+        this.soundEngine = assetManager.getSoundEngine();
+        this.combatSounds = new CombatSounds(soundEngine);
         this.spriteBatch = new SpriteBatch();
         this.viewport = new FillViewport(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
-        this.uiRenderer = new UIRenderer();
+        this.hudProjection = new Matrix4().setToOrtho2D(0, 0, GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+        this.viewBounds = new Rectangle();
+        this.uiRenderer = new UIRenderer(assetManager.getWhiteRegion(), assetManager.getFont());
+        this.projectileRenderer = new ProjectileRenderer(profile.getProjectileBatchSize());
         this.inputHandler = new InputHandler();
-        this.collisionManager = new CollisionManager();
-        
-        // Initialize projectile factory
-        this.projectileFactory = new ProjectileFactory(
-            assetManager.getRedLaserTexture(),
-            assetManager.getBlueLaserTexture(),
-            assetManager.getYellowLaserTexture(),
-            assetManager.getCyanBeamTexture(),
-            assetManager.getGreenLaserTexture(),
-            assetManager.getMagentaLaserTexture(),
-            assetManager.getOrangeLaserTexture()
-        );
-        
-        this.enemyAI = new EnemyAI(projectileFactory);
-        
-        // Initialize game entities
-        initializeEntities(selectedCharacterIndex);
-        
+        this.world = inputLog.createWorld(assetManager.getBulletPatterns(), profile);
+        this.inputLog = inputLog;
+        this.replaying = replaying;
+        this.replayInput = new InputState();
+        this.replayChecksums = new LongArray(replaying ? inputLog.getTickCount() : 0);
+        // A log saved before the first tick has nothing to replay
+        this.replayFinished = replaying && inputLog.getTickCount() == 0;
+        this.characters = world.getRegistry().query(SPRITE, POSITION, PREVIOUS_POSITION, SIZE, HEALTH);
+        this.lasers = world.getRegistry().query(LASER, POSITION, PREVIOUS_POSITION, SIZE);
+
         this.isPaused = false;
+        this.maxTicksPerFrame = profile.getMaxTicksPerFrame();
+        this.tickDuration = 1f / inputLog.getTickRate();
+        this.accumulator = 0f;
+
+        this.performanceMonitor = new PerformanceMonitor(GameConfig.PERFORMANCE_SAMPLE_COUNT);
+        this.glProfiler = new GLProfiler(Gdx.graphics);
+        this.showPerformance = false;
+        this.performanceRefreshTimer = 0f;
+        this.lastStorageMisses = world.getStorageMisses();
     }
-    
+
     /**
-     * Initializes the player and enemies.
+     * Reads the unscaled size of every character from its atlas region.
+     * Regions are baked at {@link GameConfig#CHARACTER_TEXTURE_SCALE}, so this undoes that scale.
      *
-     * @param selectedCharacterIndex The selected player character
+     * @param characterRegions The character regions
+     * @return {width, height} per character
      */
-    private void initializeEntities(int selectedCharacterIndex) {
-        // Create player
-        Texture playerTexture = assetManager.getCharacterTexture(selectedCharacterIndex);
-        player = new Player(playerTexture);
-        player.setPosition(0, 0);
-        
-        // Create enemies (use other characters as enemies)
-        enemies = new Array<>(true, 3);
-        playerProjectiles = new Array<>(true, 100);
-        enemyProjectiles = new Array<>(true, 100);
-        
-        int enemyIndex = 0;
-        for (int i = 0; i < GameConfig.CHARACTER_TEXTURES.length; i++) {
-            if (i != selectedCharacterIndex && enemyIndex < 3) {
-                Texture enemyTexture = assetManager.getCharacterTexture(i);
-                Enemy enemy = new Enemy(enemyTexture);
-                enemy.setPosition(
-                    GameConfig.ENEMY_SPAWN_POSITIONS[enemyIndex][0],
-                    GameConfig.ENEMY_SPAWN_POSITIONS[enemyIndex][1]
-                );
-                enemyAI.initializeEnemy(enemy);
-                enemies.add(enemy);
-                enemyIndex++;
-            }
+    private static float[][] measureCharacters(TextureRegion[] characterRegions) {
+        float[][] sizes = new float[characterRegions.length][];
+        for (int i = 0; i < characterRegions.length; i++) {
+            sizes[i] = new float[] {
+                characterRegions[i].getRegionWidth() / GameConfig.CHARACTER_TEXTURE_SCALE,
+                characterRegions[i].getRegionHeight() / GameConfig.CHARACTER_TEXTURE_SCALE
+            };
         }
+        return sizes;
     }
-    
+
     @Override
     public void show() {
         // Start music when screen is shown
-        assetManager.getGameMusic().play();
+        soundEngine.playMusic();
     }
-    
+
     @Override
     public void render(float delta) {
         // Check for pause toggle
         if (inputHandler.shouldTogglePause()) {
             isPaused = !isPaused;
             if (isPaused) {
-                assetManager.getGameMusic().pause();
+                soundEngine.pauseMusic();
             } else {
-                assetManager.getGameMusic().play();
+                soundEngine.playMusic();
             }
         }
-        
+
         // Check for exit
         if (inputHandler.shouldExit()) {
             Gdx.app.exit();
         }
-        
+
+        // Performance overlay controls
+        if (inputHandler.shouldTogglePerformanceOverlay()) {
+            setPerformanceOverlayVisible(!showPerformance);
+        }
+        if (showPerformance && inputHandler.shouldDumpPerformance()) {
+            dumpPerformance();
+        }
+        if (!replaying && inputHandler.shouldSaveRecording()) {
+            saveRecording();
+        }
+
         // Only process input and logic if not paused
+        float alpha = 1f;
+        long inputNanos = 0;
+        world.resetPhaseTimings();
         if (!isPaused) {
-            handleInput(delta);
-            updateLogic(delta);
+            long inputStart = TimeUtils.nanoTime();
+            inputHandler.poll();
+            inputNanos = TimeUtils.nanoTime() - inputStart;
+            alpha = advanceSimulation(delta);
+        }
+
+        if (showPerformance) {
+            glProfiler.reset();
+        }
+        long drawStart = TimeUtils.nanoTime();
+        draw(alpha);
+        long drawNanos = TimeUtils.nanoTime() - drawStart;
+
+        if (showPerformance) {
+            recordPerformance(delta, inputNanos, drawNanos);
+            drawPerformanceOverlay(delta);
         }
-        
-        render();
     }
-    
+
     /**
-     * Handles player input.
+     * Samples this frame's timings and counters into the performance monitor.
      *
      * @param delta Time elapsed since last frame
+     * @param inputNanos Time spent polling input
+     * @param drawNanos Time spent drawing the world
      */
-    private void handleInput(float delta) {
-        inputHandler.update(delta);
-        
-        // Handle movement
-        inputHandler.handleMovement(player, delta);
-        
-        // Handle shooting
-        if (inputHandler.shouldShoot()) {
-            playerProjectiles.add(projectileFactory.createPlayerLaser(player));
+    private void recordPerformance(float delta, long inputNanos, long drawNanos) {
+        PerformanceMonitor monitor = performanceMonitor;
+        monitor.record(PerformanceMonitor.Metric.FRAME, delta * 1000f);
+        monitor.record(PerformanceMonitor.Metric.INPUT, inputNanos / 1_000_000f);
+        monitor.record(PerformanceMonitor.Metric.AI, world.getPhaseNanos(TickPhase.AI) / 1_000_000f);
+        monitor.record(PerformanceMonitor.Metric.PROJECTILES, world.getPhaseNanos(TickPhase.PROJECTILES) / 1_000_000f);
+        monitor.record(PerformanceMonitor.Metric.COLLISION, world.getPhaseNanos(TickPhase.COLLISION) / 1_000_000f);
+        monitor.record(PerformanceMonitor.Metric.DRAW, drawNanos / 1_000_000f);
+        monitor.record(PerformanceMonitor.Metric.PROJECTILE_COUNT, world.getProjectileCount());
+        monitor.record(PerformanceMonitor.Metric.ENEMY_COUNT, world.getEnemyCount());
+        monitor.record(PerformanceMonitor.Metric.RENDER_CALLS, frameRenderCalls);
+        monitor.record(PerformanceMonitor.Metric.DRAW_CALLS, glProfiler.getDrawCalls());
+        monitor.record(PerformanceMonitor.Metric.TEXTURE_BINDS, glProfiler.getTextureBindings());
+        long storageMisses = world.getStorageMisses();
+        monitor.record(PerformanceMonitor.Metric.STORAGE_MISSES, storageMisses - lastStorageMisses);
+        lastStorageMisses = storageMisses;
+
+        long allocatedBytes = monitor.sampleAllocatedBytes();
+        if (allocatedBytes >= 0 && delta > 0) {
+            monitor.record(PerformanceMonitor.Metric.ALLOCATION_RATE, allocatedBytes / delta / (1024f * 1024f));
         }
-        
-        // Handle abilities
-        if (inputHandler.shouldTriggerAbilityA(player)) {
-            player.useAbilityA();
-            projectileFactory.createRapidFire(player, playerProjectiles);
+        monitor.endFrame();
+    }
+
+    /**
+     * Draws the performance overlay, refreshing its percentiles a few times per second.
+     * Runs after the frame's counters are read, so it does not count itself.
+     *
+     * @param delta Time elapsed since last frame
+     */
+    private void drawPerformanceOverlay(float delta) {
+        performanceRefreshTimer -= delta;
+        if (performanceRefreshTimer <= 0f) {
+            performanceMonitor.updatePercentiles();
+            performanceRefreshTimer = GameConfig.PERFORMANCE_REFRESH_INTERVAL;
         }
-        
-        if (inputHandler.shouldTriggerAbilityS(player)) {
-            player.useAbilityS();
-            projectileFactory.createCircularBurst(player, playerProjectiles);
+
+        spriteBatch.setProjectionMatrix(hudProjection);
+        spriteBatch.begin();
+        uiRenderer.drawPerformanceOverlay(spriteBatch, performanceMonitor);
+        spriteBatch.end();
+    }
+
+    /**
+     * Shows or hides the performance overlay. GL call counting is only enabled while
+     * the overlay is visible, since intercepting every GL call has a cost of its own.
+     *
+     * @param visible Whether the overlay should be visible
+     */
+    private void setPerformanceOverlayVisible(boolean visible) {
+        showPerformance = visible;
+        if (visible) {
+            performanceMonitor.clear();
+            performanceRefreshTimer = 0f;
+            glProfiler.enable();
+        } else {
+            glProfiler.disable();
+        }
+    }
+
+    /**
+     * Writes the buffered performance samples to a CSV file in the local storage directory,
+     * and logs every archetype's peak and reserved size for tuning the profile's reservations.
+     */
+    private void dumpPerformance() {
+        FileHandle file = Gdx.files.local("performance-" + TimeUtils.millis() + ".csv");
+        try (Writer writer = file.writer(false, "UTF-8")) {
+            performanceMonitor.writeCsv(writer);
+            Gdx.app.log("Performance", "Wrote " + performanceMonitor.getSampleCount() + " frames to " + file.path());
+        } catch (IOException e) {
+            Gdx.app.error("Performance", "Could not write " + file.path(), e);
         }
-        
-        if (inputHandler.shouldTriggerAbilityD(player)) {
-            player.useAbilityD();
-            playerProjectiles.add(projectileFactory.createMegaBeam(player));
+
+        Array<Archetype> archetypes = world.getRegistry().getArchetypes();
+        for (int a = 0; a < archetypes.size; a++) {
+            Archetype archetype = archetypes.get(a);
+            Gdx.app.log("Storage", archetype + ": peak " + archetype.getPeakSize() + " of "
+                        + archetype.getCapacity() + " reserved, " + archetype.getChunkMisses() + " chunk misses");
         }
+        Gdx.app.log("Storage", "Peak entities " + world.getRegistry().getPeakEntityCount()
+                    + ", storage misses " + world.getStorageMisses());
     }
-    
+
     /**
-     * Updates game logic.
+     * Runs as many fixed simulation ticks as the elapsed frame time allows.
+     * At most the profile's maximum ticks run per frame; any time beyond
+     * that is dropped so a long hitch cannot snowball into ever longer frames.
      *
      * @param delta Time elapsed since last frame
+     * @return Fraction of a tick left over, used to interpolate rendering
      */
-    private void updateLogic(float delta) {
-        // Update player
-        player.update(delta);
-        
-        // Update enemies
-        for (int i = 0; i < enemies.size; i++) {
-            Enemy enemy = enemies.get(i);
-            enemy.update(delta);
-            enemyAI.updateMovement(enemy, delta);
-            enemyAI.updateShooting(enemy, i, player, enemyProjectiles, delta);
+    private float advanceSimulation(float delta) {
+        accumulator += delta;
+
+        int ticks = 0;
+        while (accumulator >= tickDuration && ticks < maxTicksPerFrame && !replayFinished) {
+            if (replaying) {
+                replayTick();
+            } else {
+                inputLog.record(inputHandler.getState());
+                world.tick(tickDuration, inputHandler.getState());
+            }
+            combatSounds.playTick(world);
+            inputHandler.clearLatchedInput();
+            accumulator -= tickDuration;
+            ticks++;
         }
-        
-        // Update projectiles
-        for (Projectile projectile : playerProjectiles) {
-            projectile.update(delta);
+
+        if (accumulator >= tickDuration) {
+            accumulator %= tickDuration;
         }
-        for (Projectile projectile : enemyProjectiles) {
-            projectile.update(delta);
+
+        return accumulator / tickDuration;
+    }
+
+    /**
+     * Runs the next recorded tick and stores the resulting checksum. Once the log runs out,
+     * writes every checksum to a file and stops the simulation.
+     */
+    private void replayTick() {
+        int tick = (int) world.getTickCount();
+        replayInput.setKeys(inputLog.getKeys(tick));
+        world.tick(tickDuration, replayInput);
+        replayChecksums.add(world.checksum());
+
+        if (world.getTickCount() == inputLog.getTickCount()) {
+            replayFinished = true;
+            writeChecksums();
         }
-        
-        // Check collisions
-        collisionManager.checkPlayerProjectileCollisions(playerProjectiles, enemies, projectileFactory);
-        collisionManager.checkEnemyProjectileCollisions(enemyProjectiles, player, projectileFactory);
     }
-    
+
+    /**
+     * Writes the replay's checksums, one "tick,checksum" line per tick, to a CSV file in the
+     * local storage directory.
+     */
+    private void writeChecksums() {
+        FileHandle file = Gdx.files.local("replay-" + TimeUtils.millis() + ".csv");
+        try (Writer writer = file.writer(false, "UTF-8")) {
+            writer.write("tick,checksum\n");
+            for (int i = 0; i < replayChecksums.size; i++) {
+                writer.write((i + 1) + "," + Long.toHexString(replayChecksums.get(i)) + "\n");
+            }
+            Gdx.app.log("Replay", "Replayed " + replayChecksums.size + " ticks, final checksum "
+                        + Long.toHexString(replayChecksums.peek()) + ", wrote " + file.path());
+        } catch (IOException e) {
+            Gdx.app.error("Replay", "Could not write " + file.path(), e);
+        }
+    }
+
+    /**
+     * Writes this match's input recording to a file in the local storage directory.
+     */
+    private void saveRecording() {
+        FileHandle file = Gdx.files.local("recording-" + TimeUtils.millis() + ".gwsr");
+        try (OutputStream stream = file.write(false)) {
+            inputLog.write(stream);
+            Gdx.app.log("Replay", "Wrote " + inputLog.getTickCount() + " ticks to " + file.path());
+        } catch (IOException e) {
+            Gdx.app.error("Replay", "Could not write " + file.path(), e);
+        }
+    }
+
     /**
      * Renders the game.
+     *
+     * @param alpha Fraction of a tick elapsed since the last simulation step
      */
-    private void render() {
+    private void draw(float alpha) {
         ScreenUtils.clear(Color.BLACK);
         viewport.apply();
+        followPlayer(alpha);
         spriteBatch.setProjectionMatrix(viewport.getCamera().combined);
-        
+
         spriteBatch.begin();
-        
-        // Draw background
-        spriteBatch.draw(assetManager.getBackgroundTexture(), 0, 0, 
-                        GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
-        
-        // Draw player
-        player.render(spriteBatch);
-        
-        // Draw enemies
-        for (Enemy enemy : enemies) {
-            enemy.render(spriteBatch);
-        }
-        
-        // Draw projectiles
-        for (Projectile projectile : playerProjectiles) {
-            projectile.render(spriteBatch);
-        }
-        for (Projectile projectile : enemyProjectiles) {
-            projectile.render(spriteBatch);
-        }
-        
+
+        // Draw background, stretched over the whole world
+        spriteBatch.draw(assetManager.getBackgroundRegion(), 0, 0,
+                        GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT);
+
+        drawCharacters(alpha);
+
         spriteBatch.end();
-        
-        // Draw health bars
-        uiRenderer.setShapeProjectionMatrix(viewport.getCamera().combined);
-        uiRenderer.beginShapes();
-        
-        uiRenderer.drawHealthBar(player);
-        for (Enemy enemy : enemies) {
-            uiRenderer.drawHealthBar(enemy);
-        }
-        
-        uiRenderer.endShapes();
-        
+        frameRenderCalls = spriteBatch.renderCalls;
+
+        // Draw lasers on top of the characters
+        projectileRenderer.render(lasers, alpha, viewport.getCamera().combined, viewBounds);
+        frameRenderCalls += projectileRenderer.getRenderCalls();
+
+        // Draw the HUD in one batch: health bars and text all come from the atlas
+        spriteBatch.begin();
+        drawHealthBars(alpha);
+        spriteBatch.setProjectionMatrix(hudProjection);
+        drawPlayerStatus();
+
         // Draw pause text if paused
         if (isPaused) {
-            spriteBatch.begin();
-            uiRenderer.drawCenteredText(spriteBatch, "PAUSED", 
-                                       GameConfig.SCREEN_HEIGHT / 2, 
+            uiRenderer.drawCenteredText(spriteBatch, "PAUSED",
+                                       GameConfig.SCREEN_HEIGHT / 2,
+                                       GameConfig.DEFAULT_FONT_SCALE);
+        } else if (replayFinished) {
+            uiRenderer.drawCenteredText(spriteBatch, "REPLAY FINISHED",
+                                       GameConfig.SCREEN_HEIGHT / 2,
                                        GameConfig.DEFAULT_FONT_SCALE);
-            spriteBatch.end();
         }
+        spriteBatch.end();
+        frameRenderCalls += spriteBatch.renderCalls;
+    }
+
+    /**
+     * Centers the camera on the player's interpolated position, keeping it inside the world,
+     * and updates the view bounds used for culling.
+     *
+     * @param alpha Fraction of a tick elapsed since the last simulation step
+     */
+    private void followPlayer(float alpha) {
+        int player = world.getPlayer();
+        Chunk chunk = world.getRegistry().getChunk(player);
+        int slot = world.getRegistry().getSlot(player);
+        float x = MathUtils.lerp(chunk.floats(PREVIOUS_POSITION, X)[slot], chunk.floats(POSITION, X)[slot], alpha);
+        float y = MathUtils.lerp(chunk.floats(PREVIOUS_POSITION, Y)[slot], chunk.floats(POSITION, Y)[slot], alpha);
+
+        Camera camera = viewport.getCamera();
+        float halfWidth = camera.viewportWidth / 2;
+        float halfHeight = camera.viewportHeight / 2;
+        float centerX = MathUtils.clamp(x + chunk.floats(SIZE, WIDTH)[slot] / 2,
+                                        halfWidth, Math.max(halfWidth, GameConfig.WORLD_WIDTH - halfWidth));
+        float centerY = MathUtils.clamp(y + chunk.floats(SIZE, HEIGHT)[slot] / 2,
+                                        halfHeight, Math.max(halfHeight, GameConfig.WORLD_HEIGHT - halfHeight));
+        camera.position.set(centerX, centerY, 0f);
+        camera.update();
+        viewBounds.set(centerX - halfWidth, centerY - halfHeight, halfWidth * 2, halfHeight * 2);
+    }
+
+    /**
+     * Checks whether a world-space box overlaps the camera's view.
+     */
+    private boolean isVisible(float x, float y, float width, float height) {
+        return x < viewBounds.x + viewBounds.width && x + width > viewBounds.x
+            && y < viewBounds.y + viewBounds.height && y + height > viewBounds.y;
+    }
+
+    /**
+     * Draws every living character in view with its atlas region, scaled around its center.
+     *
+     * @param alpha Fraction of a tick elapsed since the last simulation step
+     */
+    private void drawCharacters(float alpha) {
+        for (int c = 0; c < characters.chunkCount(); c++) {
+            Chunk chunk = characters.getChunk(c);
+            float[] x = chunk.floats(POSITION, X);
+            float[] y = chunk.floats(POSITION, Y);
+            float[] previousX = chunk.floats(PREVIOUS_POSITION, X);
+            float[] previousY = chunk.floats(PREVIOUS_POSITION, Y);
+            float[] health = chunk.floats(HEALTH, CURRENT);
+            int[] characterIndex = chunk.ints(SPRITE, CHARACTER_INDEX);
+            float[] width = chunk.floats(SIZE, WIDTH);
+            float[] height = chunk.floats(SIZE, HEIGHT);
+            float[] scale = chunk.floats(SIZE, SCALE);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                if (health[i] <= 0) {
+                    continue;
+                }
+                float drawX = MathUtils.lerp(previousX[i], x[i], alpha);
+                float drawY = MathUtils.lerp(previousY[i], y[i], alpha);
+                float scaledWidth = width[i] * scale[i];
+                float scaledHeight = height[i] * scale[i];
+                if (!isVisible(drawX + (width[i] - scaledWidth) / 2, drawY + (height[i] - scaledHeight) / 2,
+                               scaledWidth, scaledHeight)) {
+                    continue;
+                }
+                TextureRegion region = assetManager.getCharacterRegion(characterIndex[i]);
+                spriteBatch.draw(region, drawX, drawY,
+                                 width[i] / 2, height[i] / 2, width[i], height[i],
+                                 scale[i], scale[i], 0f);
+            }
+        }
+    }
+
+    /**
+     * Draws a health bar above every living character.
+     *
+     * @param alpha Fraction of a tick elapsed since the last simulation step
+     */
+    private void drawHealthBars(float alpha) {
+        for (int c = 0; c < characters.chunkCount(); c++) {
+            Chunk chunk = characters.getChunk(c);
+            float[] x = chunk.floats(POSITION, X);
+            float[] y = chunk.floats(POSITION, Y);
+            float[] previousX = chunk.floats(PREVIOUS_POSITION, X);
+            float[] previousY = chunk.floats(PREVIOUS_POSITION, Y);
+            float[] health = chunk.floats(HEALTH, CURRENT);
+            float[] maxHealth = chunk.floats(HEALTH, MAX);
+            float[] width = chunk.floats(SIZE, WIDTH);
+            float[] height = chunk.floats(SIZE, HEIGHT);
+            float[] scale = chunk.floats(SIZE, SCALE);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                if (health[i] <= 0) {
+                    continue;
+                }
+                float drawX = MathUtils.lerp(previousX[i], x[i], alpha);
+                float drawY = MathUtils.lerp(previousY[i], y[i], alpha);
+                float scaledWidth = width[i] * scale[i];
+                float scaledHeight = height[i] * scale[i];
+                if (!isVisible(UIRenderer.healthBarX(drawX, scaledWidth), UIRenderer.healthBarY(drawY, scaledHeight),
+                               GameConfig.HEALTH_BAR_WIDTH, GameConfig.HEALTH_BAR_HEIGHT)) {
+                    continue;
+                }
+                uiRenderer.drawHealthBar(spriteBatch, drawX, drawY, scaledWidth, scaledHeight,
+                                         health[i], maxHealth[i]);
+            }
+        }
+    }
+
+    /**
+     * Draws the player's health, score and ability cooldowns.
+     */
+    private void drawPlayerStatus() {
+        int player = world.getPlayer();
+        Chunk chunk = world.getRegistry().getChunk(player);
+        int slot = world.getRegistry().getSlot(player);
+        uiRenderer.drawPlayerStatus(spriteBatch,
+                                    chunk.floats(HEALTH, CURRENT)[slot],
+                                    chunk.floats(HEALTH, MAX)[slot],
+                                    world.getScore(),
+                                    chunk.floats(PLAYER_CONTROL, ABILITY_A_COOLDOWN)[slot],
+                                    chunk.floats(PLAYER_CONTROL, ABILITY_S_COOLDOWN)[slot],
+                                    chunk.floats(PLAYER_CONTROL, ABILITY_D_COOLDOWN)[slot]);
+    }
+
+    /**
+     * Sets the simulation tick rate. The rate is part of the recording, so it can only be
+     * changed before the first tick, and never while replaying.
+     *
+     * @param ticksPerSecond Number of fixed simulation ticks per second, at most
+     *                       {@link PerformanceProfile#MAX_TICK_RATE}
+     */
+    public void setTickRate(int ticksPerSecond) {
+        if (ticksPerSecond <= 0 || ticksPerSecond > PerformanceProfile.MAX_TICK_RATE) {
+            throw new IllegalArgumentException("ticksPerSecond must be from 1 to " + PerformanceProfile.MAX_TICK_RATE
+                                               + ": " + ticksPerSecond);
+        }
+        if (replaying || world.getTickCount() > 0) {
+            throw new IllegalStateException("The tick rate is fixed once a match has started");
+        }
+        this.tickDuration = 1f / ticksPerSecond;
+        this.inputLog = inputLog.withTickRate(ticksPerSecond);
+    }
+
+    /**
+     * Gets the simulation driven by this screen.
+     *
+     * @return The world
+     */
+    public World getWorld() {
+        return world;
     }
-    
+
     @Override
     public void resize(int width, int height) {
         viewport.update(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, true);
     }
-    
+
     @Override
     public void pause() {
     }
-    
+
     @Override
     public void resume() {
     }
-    
+
     @Override
     public void hide() {
         // Stop music when screen is hidden
-        assetManager.getGameMusic().pause();
+        soundEngine.pauseMusic();
+        setPerformanceOverlayVisible(false);
     }
-    
+
     @Override
     public void dispose() {
-        // Free all remaining projectiles
-        if (projectileFactory != null) {
-            if (playerProjectiles != null) {
-                for (Projectile projectile : playerProjectiles) {
-                    projectileFactory.freeProjectile(projectile);
-                }
-            }
-            if (enemyProjectiles != null) {
-                for (Projectile projectile : enemyProjectiles) {
-                    projectileFactory.freeProjectile(projectile);
-                }
-            }
-            projectileFactory.dispose();
+        // Drop all remaining lasers
+        if (world != null) {
+            world.dispose();
         }
-        
+
         if (spriteBatch != null) {
             spriteBatch.dispose();
         }
-        if (uiRenderer != null) {
-            uiRenderer.dispose();
+        if (projectileRenderer != null) {
+            projectileRenderer.dispose();
         }
     }
 }
@@ -0,0 +1,122 @@
+package ro.experimentation.stef.screens;
+
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.FillViewport;
+import ro.experimentation.stef.GamesWithStef;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.systems.GameAssetManager;
+
+/**
+ * Screen shown while assets load.
+ * Drives {@link GameAssetManager#update()} once per frame and draws a progress bar
+ * using only the built-in font and flat shapes, so it needs none of the assets being loaded.
+ */
+public class LoadingScreen implements Screen {
+    private static final float BAR_WIDTH = 800f;
+    private static final float BAR_HEIGHT = 30f;
+
+    private final GamesWithStef game;
+    private final GameAssetManager assetManager;
+    private final SpriteBatch spriteBatch;
+    private final ShapeRenderer shapeRenderer;
+    private final FillViewport viewport;
+    private final BitmapFont font;
+    private final GlyphLayout glyphLayout;
+
+    /**
+     * Creates a new loading screen.
+     *
+     * @param game The main game instance
+     * @param assetManager The asset manager to drive
+     */
+    public LoadingScreen(GamesWithStef game, GameAssetManager assetManager) {
+        this.game = game;
+        this.assetManager = assetManager;
+        this.spriteBatch = new SpriteBatch();
+        this.shapeRenderer = new ShapeRenderer();
+        this.viewport = new FillViewport(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT);
+
+        this.font = new BitmapFont();
+        this.font.getData().setScale(GameConfig.INSTRUCTION_FONT_SCALE);
+        this.font.setColor(Color.WHITE);
+        this.glyphLayout = new GlyphLayout(font, "LOADING");
+    }
+
+    @Override
+    public void show() {
+        assetManager.startLoading();
+    }
+
+    @Override
+    public void render(float delta) {
+        if (assetManager.update()) {
+            game.onAssetsLoaded();
+            return;
+        }
+        draw(assetManager.getProgress());
+    }
+
+    /**
+     * Draws the loading text and progress bar.
+     *
+     * @param progress Loading progress in [0, 1]
+     */
+    private void draw(float progress) {
+        ScreenUtils.clear(Color.BLACK);
+        viewport.apply();
+
+        float barX = (GameConfig.SCREEN_WIDTH - BAR_WIDTH) / 2;
+        float barY = (GameConfig.SCREEN_HEIGHT - BAR_HEIGHT) / 2;
+
+        shapeRenderer.setProjectionMatrix(viewport.getCamera().combined);
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(Color.DARK_GRAY);
+        shapeRenderer.rect(barX, barY, BAR_WIDTH, BAR_HEIGHT);
+        shapeRenderer.setColor(Color.ORANGE);
+        shapeRenderer.rect(barX, barY, BAR_WIDTH * progress, BAR_HEIGHT);
+        shapeRenderer.end();
+
+        spriteBatch.setProjectionMatrix(viewport.getCamera().combined);
+        spriteBatch.begin();
+        font.draw(spriteBatch, glyphLayout,
+                  (GameConfig.SCREEN_WIDTH - glyphLayout.width) / 2,
+                  barY + BAR_HEIGHT + glyphLayout.height + 20);
+        spriteBatch.end();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT, true);
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+
+    @Override
+    public void dispose() {
+        if (spriteBatch != null) {
+            spriteBatch.dispose();
+        }
+        if (shapeRenderer != null) {
+            shapeRenderer.dispose();
+        }
+        if (font != null) {
+            font.dispose();
+        }
+    }
+}
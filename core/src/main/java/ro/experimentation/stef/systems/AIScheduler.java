@@ -0,0 +1,145 @@
+package ro.experimentation.stef.systems;
+
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.Query;
+
+import static ro.experimentation.stef.world.Components.*;
+
+/**
+ * Picks which enemies may make decisions this tick, so the cost of decisions stays bounded
+ * however many enemies there are.
+ * <p>
+ * {@link EnemyAI} counts every enemy's timers down and continues its bullet pattern every
+ * tick, but only re-rolls a direction or fires for enemies scheduled here. An enemy is due
+ * once one of its timers has run out, and due enemies are granted decisions in round-robin
+ * order, continuing after the last one granted on the previous tick, up to a fixed number
+ * per tick. Enemies far from the target are only considered every few ticks, staggered by
+ * entity so their decisions spread evenly over the ticks in between.
+ * <p>
+ * A late decision only shifts the next one: EnemyAI adds each new timer duration to the
+ * overdue timer, so the enemies move and fire as often as without scheduling.
+ * <p>
+ * Scheduling runs serially before the enemy update and only writes the DECIDE field, so
+ * the enemy update can still be split across threads and stays deterministic.
+ */
+public class AIScheduler {
+    private static final float MID_DISTANCE_SQUARED = GameConfig.AI_MID_DISTANCE * GameConfig.AI_MID_DISTANCE;
+    private static final float FAR_DISTANCE_SQUARED = GameConfig.AI_FAR_DISTANCE * GameConfig.AI_FAR_DISTANCE;
+
+    private final int decisionsPerTick;
+
+    // Where the next round-robin pass starts
+    private int cursorChunk;
+    private int cursorSlot;
+
+    private long tick;
+    private int lastDecisions;
+
+    /**
+     * Creates a new AIScheduler.
+     *
+     * @param decisionsPerTick Most enemies granted a decision per tick
+     */
+    public AIScheduler(int decisionsPerTick) {
+        this.decisionsPerTick = decisionsPerTick;
+        this.cursorChunk = 0;
+        this.cursorSlot = 0;
+        this.tick = 0;
+        this.lastDecisions = 0;
+    }
+
+    /**
+     * Marks the enemies allowed to decide this tick and clears the mark of all others.
+     * The timers checked are the ones EnemyAI will see after counting down this tick.
+     *
+     * @param enemies Query over the enemies
+     * @param targetX The x coordinate of the target's center
+     * @param targetY The y coordinate of the target's center
+     * @param targetAlive Whether there is a living target to shoot at
+     * @param delta Duration of the tick in seconds
+     */
+    public void schedule(Query enemies, float targetX, float targetY, boolean targetAlive, float delta) {
+        tick++;
+        lastDecisions = 0;
+        int chunkCount = enemies.chunkCount();
+        if (enemies.size() == 0) {
+            return;
+        }
+
+        // The cursor may point past enemies removed since the last tick
+        if (cursorChunk >= chunkCount) {
+            cursorChunk = 0;
+            cursorSlot = 0;
+        } else if (cursorSlot >= enemies.getChunk(cursorChunk).size()) {
+            cursorChunk = (cursorChunk + 1) % chunkCount;
+            cursorSlot = 0;
+        }
+
+        // Walk every enemy once, from the cursor round to just before it
+        int startChunk = cursorChunk;
+        int startSlot = cursorSlot;
+        for (int k = 0; k <= chunkCount; k++) {
+            int c = (startChunk + k) % chunkCount;
+            Chunk chunk = enemies.getChunk(c);
+            int from = k == 0 ? startSlot : 0;
+            int to = k == chunkCount ? startSlot : chunk.size();
+            scheduleRange(chunk, c, from, to, targetX, targetY, targetAlive, delta);
+        }
+    }
+
+    /**
+     * Schedules a range of slots of one chunk, in order.
+     */
+    private void scheduleRange(Chunk chunk, int chunkIndex, int from, int to, float targetX, float targetY,
+                               boolean targetAlive, float delta) {
+        float[] health = chunk.floats(HEALTH, CURRENT);
+        float[] moveTimer = chunk.floats(ENEMY_BRAIN, MOVE_TIMER);
+        float[] shootTimer = chunk.floats(ENEMY_BRAIN, SHOOT_TIMER);
+        int[] decide = chunk.ints(ENEMY_BRAIN, DECIDE);
+        float[] x = chunk.floats(POSITION, X);
+        float[] y = chunk.floats(POSITION, Y);
+        float[] width = chunk.floats(SIZE, WIDTH);
+        float[] height = chunk.floats(SIZE, HEIGHT);
+
+        for (int i = from; i < to; i++) {
+            decide[i] = 0;
+            if (health[i] <= 0 || lastDecisions == decisionsPerTick) {
+                continue;
+            }
+            boolean due = moveTimer[i] - delta <= 0 || (targetAlive && shootTimer[i] - delta <= 0);
+            if (!due) {
+                continue;
+            }
+
+            // Distance tier
+            float dx = x[i] + width[i] / 2 - targetX;
+            float dy = y[i] + height[i] / 2 - targetY;
+            float distanceSquared = dx * dx + dy * dy;
+            int period = distanceSquared < MID_DISTANCE_SQUARED ? 1
+                : distanceSquared < FAR_DISTANCE_SQUARED ? GameConfig.AI_MID_PERIOD : GameConfig.AI_FAR_PERIOD;
+            if ((tick + chunk.getEntity(i)) % period != 0) {
+                continue;
+            }
+
+            decide[i] = 1;
+            lastDecisions++;
+            cursorChunk = chunkIndex;
+            cursorSlot = i + 1;
+        }
+    }
+
+    // Getters
+    public int getDecisionsPerTick() {
+        return decisionsPerTick;
+    }
+
+    /**
+     * Gets the number of enemies granted a decision by the last {@link #schedule} call.
+     *
+     * @return Decision count
+     */
+    public int getLastDecisions() {
+        return lastDecisions;
+    }
+}
@@ -1,102 +1,375 @@
 package ro.experimentation.stef.systems;
 
-import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import java.util.Arrays;
 import ro.experimentation.stef.config.GameConfig;
-import ro.experimentation.stef.entities.Character;
-import ro.experimentation.stef.entities.Enemy;
-import ro.experimentation.stef.entities.Player;
-import ro.experimentation.stef.weapons.Projectile;
-import ro.experimentation.stef.weapons.ProjectileFactory;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import ro.experimentation.stef.ecs.Query;
+
+import static ro.experimentation.stef.world.Components.*;
 
 /**
  * Manages all collision detection in the game.
- * Centralizes collision logic and uses cached rectangles for efficiency.
+ * Lasers damage living entities with health on the other team: player lasers hit
+ * ENEMY_TEAM entities and enemy lasers hit PLAYER_TEAM ones. Targets are gathered into
+ * flat bounds arrays once per check, and player lasers are tested against them either
+ * exhaustively or through a uniform spatial hash broadphase; both modes report the same hits.
+ * Lasers that hit are queued for destruction, so iteration is never disturbed. The kinds of
+ * laser that hit during the last check of each team are kept for sound effects.
+ * <p>
+ * Tests are swept: each laser's box is moved along the segment from its previous to its
+ * current position, and it hits the target it enters first, ties going to the lower target
+ * index. A laser can cover several times its own length in one tick when the tick rate is
+ * lowered or a frame hitches, and would otherwise pass through targets between two ticks.
+ * Targets are tested at their end-of-tick bounds; they move far less per tick than lasers.
  */
 public class CollisionManager {
-    // Cached rectangles to reduce allocations
-    private final Rectangle projectileRect;
-    private final Rectangle characterRect;
-    
     /**
-     * Creates a new CollisionManager.
+     * Strategy used to find the enemies a projectile may overlap.
      */
-    public CollisionManager() {
-        this.projectileRect = new Rectangle();
-        this.characterRect = new Rectangle();
+    public enum BroadphaseMode {
+        /** Tests every projectile against every enemy. */
+        BRUTE_FORCE,
+        /** Tests each projectile only against enemies sharing a grid cell. */
+        SPATIAL_HASH
     }
-    
+
+    // Sweep result for a laser that misses
+    private static final float NO_HIT = Float.POSITIVE_INFINITY;
+
+    private final EntityRegistry registry;
+    private final Query playerLasers;
+    private final Query enemyLasers;
+    private final Query playerTeam;
+    private final Query enemyTeam;
+
+    // Scaled bounds of the living targets of the current check, in query order
+    private float[] targetX;
+    private float[] targetY;
+    private float[] targetWidth;
+    private float[] targetHeight;
+    private Chunk[] targetChunk;
+    private int[] targetSlot;
+    private boolean[] targetAlive;
+    private int targetCount;
+
+    // Bounds of the laser being tested at the start of the tick, and its movement during the tick
+    private float laserX;
+    private float laserY;
+    private float laserWidth;
+    private float laserHeight;
+    private float laserDeltaX;
+    private float laserDeltaY;
+
+    // Broadphase state, rebuilt from living targets every check
+    private final SpatialHashGrid targetGrid;
+    private final IntArray candidates;
+    private BroadphaseMode broadphaseMode;
+
+    // Enemies brought to zero health by player lasers since creation
+    private int enemiesDefeated;
+
+    // Bit per projectile type id of the lasers that hit during the last check of each team
+    private int hitTypes;
+    private int playerLaserHitTypes;
+    private int enemyLaserHitTypes;
+
     /**
-     * Checks collisions between player projectiles and enemies.
-     * Applies damage and removes projectiles that hit.
+     * Creates a new CollisionManager using the spatial hash broadphase.
      *
-     * @param projectiles Array of player projectiles
-     * @param enemies Array of enemy characters
-     * @param projectileFactory The projectile factory for freeing projectiles
+     * @param registry Registry holding the lasers and their targets
      */
-    public void checkPlayerProjectileCollisions(Array<Projectile> projectiles, Array<Enemy> enemies, ProjectileFactory projectileFactory) {
-        for (int i = projectiles.size - 1; i >= 0; i--) {
-            Projectile projectile = projectiles.get(i);
-            if (!projectile.isActive()) {
-                continue;
-            }
-            
-            projectileRect.set(projectile.getBoundingRectangle());
-            
-            boolean hit = false;
-            for (Enemy enemy : enemies) {
-                if (!enemy.isAlive()) {
+    public CollisionManager(EntityRegistry registry) {
+        this.registry = registry;
+        this.playerLasers = registry.query(LASER, POSITION, PREVIOUS_POSITION, SIZE, PLAYER_TEAM);
+        this.enemyLasers = registry.query(LASER, POSITION, PREVIOUS_POSITION, SIZE, ENEMY_TEAM);
+        this.playerTeam = registry.query(HEALTH, POSITION, SIZE, PLAYER_TEAM);
+        this.enemyTeam = registry.query(HEALTH, POSITION, SIZE, ENEMY_TEAM);
+
+        int capacity = 16;
+        this.targetX = new float[capacity];
+        this.targetY = new float[capacity];
+        this.targetWidth = new float[capacity];
+        this.targetHeight = new float[capacity];
+        this.targetChunk = new Chunk[capacity];
+        this.targetSlot = new int[capacity];
+        this.targetAlive = new boolean[capacity];
+
+        this.targetGrid = new SpatialHashGrid(GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT,
+                                              GameConfig.COLLISION_CELL_SIZE);
+        this.candidates = new IntArray();
+        this.broadphaseMode = BroadphaseMode.SPATIAL_HASH;
+    }
+
+    /**
+     * Checks collisions between player lasers and enemies.
+     * Applies damage, counts defeated enemies and queues lasers that hit for destruction.
+     */
+    public void checkPlayerProjectileCollisions() {
+        enemiesDefeated += checkLaserCollisions(playerLasers, enemyTeam, broadphaseMode == BroadphaseMode.SPATIAL_HASH);
+        playerLaserHitTypes = hitTypes;
+    }
+
+    /**
+     * Checks collisions between enemy lasers and the player.
+     * Applies damage and queues lasers that hit for destruction.
+     */
+    public void checkEnemyProjectileCollisions() {
+        // The player's team is a handful of entities, too few for a broadphase to pay off
+        checkLaserCollisions(enemyLasers, playerTeam, false);
+        enemyLaserHitTypes = hitTypes;
+    }
+
+    /**
+     * Tests every laser not already queued for destruction against the living targets.
+     *
+     * @param lasers Lasers to test
+     * @param targets Entities the lasers damage
+     * @param useGrid Whether to narrow the targets through the spatial hash
+     * @return Number of targets brought to zero health
+     */
+    private int checkLaserCollisions(Query lasers, Query targets, boolean useGrid) {
+        hitTypes = 0;
+        gatherTargets(targets);
+        if (targetCount == 0) {
+            return 0;
+        }
+        if (useGrid) {
+            rebuildTargetGrid();
+        }
+
+        int defeated = 0;
+        for (int c = 0; c < lasers.chunkCount(); c++) {
+            Chunk chunk = lasers.getChunk(c);
+            float[] x = chunk.floats(POSITION, X);
+            float[] y = chunk.floats(POSITION, Y);
+            float[] previousX = chunk.floats(PREVIOUS_POSITION, X);
+            float[] previousY = chunk.floats(PREVIOUS_POSITION, Y);
+            float[] width = chunk.floats(SIZE, WIDTH);
+            float[] height = chunk.floats(SIZE, HEIGHT);
+            int[] type = chunk.ints(LASER, LASER_TYPE);
+
+            for (int i = chunk.size() - 1; i >= 0; i--) {
+                int laser = chunk.getEntity(i);
+                if (registry.isDestroyPending(laser)) {
                     continue;
                 }
-                
-                characterRect.set(enemy.getBoundingRectangle());
-                if (projectileRect.overlaps(characterRect)) {
-                    enemy.takeDamage(GameConfig.DAMAGE_PER_HIT);
-                    projectile.deactivate();
-                    hit = true;
-                    break;
+                laserX = previousX[i];
+                laserY = previousY[i];
+                laserWidth = width[i];
+                laserHeight = height[i];
+                laserDeltaX = x[i] - previousX[i];
+                laserDeltaY = y[i] - previousY[i];
+
+                int target = useGrid ? findHitTargetInGrid() : findHitTarget();
+                if (target != -1) {
+                    if (damage(target)) {
+                        defeated++;
+                    }
+                    registry.destroyLater(laser);
+                    hitTypes |= 1 << type[i];
                 }
             }
-            
-            if (hit || projectile.isOffScreen(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT)) {
-                projectileFactory.freeProjectile(projectile);
-                projectiles.removeIndex(i);
-            }
         }
+        return defeated;
     }
-    
+
     /**
-     * Checks collisions between enemy projectiles and the player.
-     * Applies damage and removes projectiles that hit.
+     * Finds the living target the current laser enters first, ties going to the lowest index.
      *
-     * @param projectiles Array of enemy projectiles
-     * @param player The player character
-     * @param projectileFactory The projectile factory for freeing projectiles
+     * @return Index of the target hit, or -1 if none
      */
-    public void checkEnemyProjectileCollisions(Array<Projectile> projectiles, Player player, ProjectileFactory projectileFactory) {
-        if (!player.isAlive()) {
-            return;
+    private int findHitTarget() {
+        int best = -1;
+        float bestTime = NO_HIT;
+        for (int t = 0; t < targetCount; t++) {
+            if (!targetAlive[t]) {
+                continue;
+            }
+            float time = sweepLaser(t);
+            if (time < bestTime) {
+                best = t;
+                bestTime = time;
+            }
         }
-        
-        characterRect.set(player.getBoundingRectangle());
-        
-        for (int i = projectiles.size - 1; i >= 0; i--) {
-            Projectile projectile = projectiles.get(i);
-            if (!projectile.isActive()) {
+        return best;
+    }
+
+    /**
+     * Finds the living target the current laser enters first, ties going to the lowest index,
+     * testing only the candidates sharing a grid cell with the laser's swept bounds.
+     * Keeps results identical to {@link #findHitTarget()}.
+     *
+     * @return Index of the target hit, or -1 if none
+     */
+    private int findHitTargetInGrid() {
+        targetGrid.query(Math.min(laserX, laserX + laserDeltaX), Math.min(laserY, laserY + laserDeltaY),
+                         laserWidth + Math.abs(laserDeltaX), laserHeight + Math.abs(laserDeltaY), candidates);
+
+        int best = -1;
+        float bestTime = NO_HIT;
+        for (int c = 0; c < candidates.size; c++) {
+            int t = candidates.get(c);
+            if (!targetAlive[t]) {
                 continue;
             }
-            
-            projectileRect.set(projectile.getBoundingRectangle());
-            
-            if (projectileRect.overlaps(characterRect)) {
-                player.takeDamage(GameConfig.DAMAGE_PER_HIT);
-                projectile.deactivate();
-                projectileFactory.freeProjectile(projectile);
-                projectiles.removeIndex(i);
-            } else if (projectile.isOffScreen(GameConfig.SCREEN_WIDTH, GameConfig.SCREEN_HEIGHT)) {
-                projectileFactory.freeProjectile(projectile);
-                projectiles.removeIndex(i);
+            float time = sweepLaser(t);
+            if (time < bestTime || (time == bestTime && time != NO_HIT && t < best)) {
+                best = t;
+                bestTime = time;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Sweeps the current laser's box along its movement and finds when it first overlaps a
+     * target's bounds, with the same edge rules as Rectangle.overlaps.
+     *
+     * @param t Index of the target
+     * @return Fraction of the movement, from 0 to 1, at which the boxes start to overlap,
+     *         or {@link #NO_HIT} if they do not overlap during the tick
+     */
+    private float sweepLaser(int t) {
+        // Per axis, the open interval of movement fractions during which the boxes overlap
+        float enter = 0f;
+        float exit = 1f;
+        float near = targetX[t] - (laserX + laserWidth);
+        float far = targetX[t] + targetWidth[t] - laserX;
+        if (laserDeltaX == 0) {
+            if (near >= 0 || far <= 0) {
+                return NO_HIT;
+            }
+        } else {
+            float a = near / laserDeltaX;
+            float b = far / laserDeltaX;
+            enter = Math.max(enter, Math.min(a, b));
+            exit = Math.min(exit, Math.max(a, b));
+        }
+        near = targetY[t] - (laserY + laserHeight);
+        far = targetY[t] + targetHeight[t] - laserY;
+        if (laserDeltaY == 0) {
+            if (near >= 0 || far <= 0) {
+                return NO_HIT;
+            }
+        } else {
+            float a = near / laserDeltaY;
+            float b = far / laserDeltaY;
+            enter = Math.max(enter, Math.min(a, b));
+            exit = Math.min(exit, Math.max(a, b));
+        }
+        return enter < exit ? enter : NO_HIT;
+    }
+
+    /**
+     * Applies one hit of damage to a target, clamping its health at zero.
+     *
+     * @param t Index of the target
+     * @return Whether the hit brought the target to zero health
+     */
+    private boolean damage(int t) {
+        float[] health = targetChunk[t].floats(HEALTH, CURRENT);
+        int slot = targetSlot[t];
+        health[slot] -= GameConfig.DAMAGE_PER_HIT;
+        if (health[slot] <= 0) {
+            health[slot] = 0;
+            targetAlive[t] = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Collects the scaled bounds of every living target, scaled around the center of its unscaled bounds.
+     *
+     * @param targets Entities the lasers damage
+     */
+    private void gatherTargets(Query targets) {
+        targetCount = 0;
+        for (int c = 0; c < targets.chunkCount(); c++) {
+            Chunk chunk = targets.getChunk(c);
+            float[] health = chunk.floats(HEALTH, CURRENT);
+            float[] x = chunk.floats(POSITION, X);
+            float[] y = chunk.floats(POSITION, Y);
+            float[] width = chunk.floats(SIZE, WIDTH);
+            float[] height = chunk.floats(SIZE, HEIGHT);
+            float[] scale = chunk.floats(SIZE, SCALE);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                if (health[i] <= 0) {
+                    continue;
+                }
+                if (targetCount == targetX.length) {
+                    growTargets();
+                }
+                float scaledWidth = width[i] * scale[i];
+                float scaledHeight = height[i] * scale[i];
+                int t = targetCount++;
+                targetX[t] = x[i] + (width[i] - scaledWidth) / 2;
+                targetY[t] = y[i] + (height[i] - scaledHeight) / 2;
+                targetWidth[t] = scaledWidth;
+                targetHeight[t] = scaledHeight;
+                targetChunk[t] = chunk;
+                targetSlot[t] = i;
+                targetAlive[t] = true;
             }
         }
     }
+
+    /**
+     * Registers every gathered target in the broadphase grid under its index.
+     */
+    private void rebuildTargetGrid() {
+        targetGrid.clear();
+        for (int t = 0; t < targetCount; t++) {
+            targetGrid.insert(t, targetX[t], targetY[t], targetWidth[t], targetHeight[t]);
+        }
+    }
+
+    private void growTargets() {
+        int capacity = targetX.length * 2;
+        targetX = Arrays.copyOf(targetX, capacity);
+        targetY = Arrays.copyOf(targetY, capacity);
+        targetWidth = Arrays.copyOf(targetWidth, capacity);
+        targetHeight = Arrays.copyOf(targetHeight, capacity);
+        targetChunk = Arrays.copyOf(targetChunk, capacity);
+        targetSlot = Arrays.copyOf(targetSlot, capacity);
+        targetAlive = Arrays.copyOf(targetAlive, capacity);
+    }
+
+    /**
+     * Selects the broadphase used for player projectile collisions.
+     *
+     * @param broadphaseMode The broadphase to use
+     */
+    public void setBroadphaseMode(BroadphaseMode broadphaseMode) {
+        this.broadphaseMode = broadphaseMode;
+    }
+
+    public BroadphaseMode getBroadphaseMode() {
+        return broadphaseMode;
+    }
+
+    public int getEnemiesDefeated() {
+        return enemiesDefeated;
+    }
+
+    /**
+     * Gets the kinds of player laser that hit an enemy during the last check.
+     *
+     * @return Bit {@code 1 << id} set for every projectile type id that hit
+     */
+    public int getPlayerLaserHitTypes() {
+        return playerLaserHitTypes;
+    }
+
+    /**
+     * Gets the kinds of enemy laser that hit the player during the last check.
+     *
+     * @return Bit {@code 1 << id} set for every projectile type id that hit
+     */
+    public int getEnemyLaserHitTypes() {
+        return enemyLaserHitTypes;
+    }
 }
@@ -1,136 +1,223 @@
 package ro.experimentation.stef.systems;
 
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.math.RandomXS128;
 import ro.experimentation.stef.config.GameConfig;
-import ro.experimentation.stef.entities.Enemy;
-import ro.experimentation.stef.entities.Player;
-import ro.experimentation.stef.weapons.Projectile;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.weapons.BulletPattern;
+import ro.experimentation.stef.weapons.BulletPatternLibrary;
+import ro.experimentation.stef.weapons.ProjectileBuffer;
 import ro.experimentation.stef.weapons.ProjectileFactory;
 
+import static ro.experimentation.stef.world.Components.*;
+
 /**
  * Manages enemy AI behavior including movement and shooting.
+ * Every enemy keeps the state of its own random generator in its ENEMY_BRAIN component;
+ * this system loads it into a scratch generator, draws from it and stores it back. Shots
+ * are only written to the buffer passed in, so different ranges of enemies can be updated
+ * concurrently by separate EnemyAI instances.
+ * <p>
+ * When its shoot timer runs out, an enemy fires its {@link BulletPattern}. Patterns with
+ * timed bursts keep firing over the following ticks, tracked by the enemy's pattern time.
  */
 public class EnemyAI {
-    private final ProjectileFactory projectileFactory;
-    
+    // Pattern time of an enemy that is not firing
+    private static final float PATTERN_IDLE = -1f;
+
+    private final BulletPatternLibrary patterns;
+    private final RandomXS128 random;
+
     /**
      * Creates a new EnemyAI system.
      *
-     * @param projectileFactory Factory for creating projectiles
+     * @param patterns The bullet patterns enemies fire
      */
-    public EnemyAI(ProjectileFactory projectileFactory) {
-        this.projectileFactory = projectileFactory;
+    public EnemyAI(BulletPatternLibrary patterns) {
+        this.patterns = patterns;
+        this.random = new RandomXS128();
     }
-    
+
     /**
      * Initializes an enemy with random movement and shooting timers.
+     * Every later decision of the enemy is drawn from a generator seeded here, so an enemy
+     * initialized with the same seed behaves the same.
      *
-     * @param enemy The enemy to initialize
+     * @param chunk Chunk holding the enemy
+     * @param slot Slot of the enemy
+     * @param seed Seed of the enemy's random generator
      */
-    public void initializeEnemy(Enemy enemy) {
-        setRandomDirection(enemy.getVelocity());
-        enemy.setMoveTimer(MathUtils.random(GameConfig.MIN_TIMER_DURATION, GameConfig.MAX_TIMER_DURATION));
-        enemy.setShootTimer(MathUtils.random(GameConfig.MIN_TIMER_DURATION, GameConfig.MAX_TIMER_DURATION));
+    public void initializeEnemy(Chunk chunk, int slot, long seed) {
+        random.setSeed(seed);
+        setRandomDirection(chunk.floats(VELOCITY, X), chunk.floats(VELOCITY, Y), slot);
+        chunk.floats(ENEMY_BRAIN, MOVE_TIMER)[slot] = randomTimerDuration();
+        chunk.floats(ENEMY_BRAIN, SHOOT_TIMER)[slot] = randomTimerDuration();
+        chunk.floats(ENEMY_BRAIN, PATTERN_TIME)[slot] = PATTERN_IDLE;
+        storeRandom(chunk.longs(ENEMY_BRAIN, RANDOM_STATE_0), chunk.longs(ENEMY_BRAIN, RANDOM_STATE_1), slot);
     }
-    
+
     /**
-     * Updates enemy movement.
+     * Updates a range of living enemies: counts their timers down and emits the bursts of
+     * patterns still firing. Enemies the {@link AIScheduler} picked this tick also act on
+     * their expired timers, picking a new direction or firing their pattern at the target.
      *
-     * @param enemy The enemy to update
-     * @param delta Time elapsed since last frame
+     * @param chunk Chunk holding the enemies
+     * @param from First slot to update
+     * @param to Slot after the last one to update
+     * @param targetX The x coordinate of the target's center
+     * @param targetY The y coordinate of the target's center
+     * @param targetAlive Whether there is a living target to shoot at
+     * @param projectiles Buffer receiving the shots fired
+     * @param delta Duration of the tick in seconds
      */
-    public void updateMovement(Enemy enemy, float delta) {
-        if (!enemy.isAlive()) {
-            return;
-        }
-        
-        // Update move timer
-        enemy.updateMoveTimer(delta);
-        if (enemy.getMoveTimer() <= 0) {
-            setRandomDirection(enemy.getVelocity());
-            enemy.setMoveTimer(MathUtils.random(GameConfig.MIN_TIMER_DURATION, GameConfig.MAX_TIMER_DURATION));
+    public void update(Chunk chunk, int from, int to, float targetX, float targetY, boolean targetAlive,
+                       ProjectileBuffer projectiles, float delta) {
+        float[] health = chunk.floats(HEALTH, CURRENT);
+        float[] moveTimer = chunk.floats(ENEMY_BRAIN, MOVE_TIMER);
+        float[] shootTimer = chunk.floats(ENEMY_BRAIN, SHOOT_TIMER);
+        float[] patternTime = chunk.floats(ENEMY_BRAIN, PATTERN_TIME);
+        int[] pattern = chunk.ints(ENEMY_BRAIN, PATTERN);
+        int[] decide = chunk.ints(ENEMY_BRAIN, DECIDE);
+        float[] x = chunk.floats(POSITION, X);
+        float[] y = chunk.floats(POSITION, Y);
+        float[] width = chunk.floats(SIZE, WIDTH);
+        float[] height = chunk.floats(SIZE, HEIGHT);
+
+        for (int i = from; i < to; i++) {
+            if (health[i] <= 0) {
+                continue;
+            }
+
+            // Count down; the shoot timer waits while there is no target
+            moveTimer[i] -= delta;
+            if (targetAlive) {
+                shootTimer[i] -= delta;
+            }
+
+            // Continue a pattern fired on an earlier tick
+            if (patternTime[i] >= 0) {
+                BulletPattern bulletPattern = patterns.get(pattern[i]);
+                float time = patternTime[i] + delta;
+                bulletPattern.emit(patternTime[i], time, ProjectileFactory.eyeX(x[i], width[i]),
+                                   ProjectileFactory.eyeY(y[i], height[i]), targetX, targetY, projectiles);
+                patternTime[i] = time >= bulletPattern.getDuration() ? PATTERN_IDLE : time;
+            }
+
+            if (decide[i] != 0) {
+                decide(chunk, i, targetX, targetY, targetAlive, projectiles);
+            }
         }
-        
-        // Move enemy
-        Vector2 velocity = enemy.getVelocity();
-        enemy.translate(velocity.x * delta, velocity.y * delta);
-        
-        // Keep enemy within screen bounds
-        keepWithinBounds(enemy);
     }
-    
+
     /**
-     * Updates enemy shooting behavior.
+     * Acts on an enemy's expired timers. A new timer duration is added to the overdue
+     * one, so a decision the scheduler delayed does not slow the enemy down.
      *
-     * @param enemy The enemy to update
-     * @param enemyIndex Index of the enemy (determines attack type)
-     * @param player The player target
-     * @param projectiles Array to add projectiles to
-     * @param delta Time elapsed since last frame
+     * @param chunk Chunk holding the enemy
+     * @param slot Slot of the enemy
+     * @param targetX The x coordinate of the target's center
+     * @param targetY The y coordinate of the target's center
+     * @param targetAlive Whether there is a living target to shoot at
+     * @param projectiles Buffer receiving the shots fired
      */
-    public void updateShooting(Enemy enemy, int enemyIndex, Player player, Array<Projectile> projectiles, float delta) {
-        if (!enemy.isAlive() || !player.isAlive()) {
-            return;
+    private void decide(Chunk chunk, int slot, float targetX, float targetY, boolean targetAlive,
+                        ProjectileBuffer projectiles) {
+        float[] moveTimer = chunk.floats(ENEMY_BRAIN, MOVE_TIMER);
+        float[] shootTimer = chunk.floats(ENEMY_BRAIN, SHOOT_TIMER);
+        long[] state0 = chunk.longs(ENEMY_BRAIN, RANDOM_STATE_0);
+        long[] state1 = chunk.longs(ENEMY_BRAIN, RANDOM_STATE_1);
+        random.setState(state0[slot], state1[slot]);
+
+        if (moveTimer[slot] <= 0) {
+            setRandomDirection(chunk.floats(VELOCITY, X), chunk.floats(VELOCITY, Y), slot);
+            moveTimer[slot] += randomTimerDuration();
+        }
+
+        if (targetAlive && shootTimer[slot] <= 0) {
+            BulletPattern bulletPattern = patterns.get(chunk.ints(ENEMY_BRAIN, PATTERN)[slot]);
+            bulletPattern.start(ProjectileFactory.eyeX(chunk.floats(POSITION, X)[slot], chunk.floats(SIZE, WIDTH)[slot]),
+                                ProjectileFactory.eyeY(chunk.floats(POSITION, Y)[slot], chunk.floats(SIZE, HEIGHT)[slot]),
+                                targetX, targetY, projectiles);
+            chunk.floats(ENEMY_BRAIN, PATTERN_TIME)[slot] = bulletPattern.getDuration() > 0 ? 0f : PATTERN_IDLE;
+            shootTimer[slot] += randomTimerDuration();
         }
-        
-        enemy.updateShootTimer(delta);
-        if (enemy.getShootTimer() <= 0) {
-            // Different enemies have different attack patterns
-            switch (enemyIndex) {
-                case 0: // First enemy uses AOE spread
-                    projectileFactory.createAOESpread(enemy, player, projectiles);
-                    break;
-                case 1: // Second enemy uses beam attack
-                    projectiles.add(projectileFactory.createBeamAttack(enemy, player));
-                    break;
-                case 2: // Third enemy uses normal laser
-                    projectiles.add(projectileFactory.createEnemyLaser(enemy, player));
-                    break;
+
+        storeRandom(state0, state1, slot);
+    }
+
+    /**
+     * Keeps a chunk of enemies within the world by bouncing them off the edges.
+     *
+     * @param chunk Chunk holding the enemies
+     */
+    public void keepWithinBounds(Chunk chunk) {
+        float[] x = chunk.floats(POSITION, X);
+        float[] y = chunk.floats(POSITION, Y);
+        float[] velocityX = chunk.floats(VELOCITY, X);
+        float[] velocityY = chunk.floats(VELOCITY, Y);
+        float[] width = chunk.floats(SIZE, WIDTH);
+        float[] height = chunk.floats(SIZE, HEIGHT);
+        float[] scale = chunk.floats(SIZE, SCALE);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            float charWidth = width[i] * scale[i];
+            float charHeight = height[i] * scale[i];
+            // Scaled bounds are scaled around the center of the unscaled bounds
+            float offsetX = (width[i] - charWidth) / 2;
+            float offsetY = (height[i] - charHeight) / 2;
+
+            // Bounce off edges
+            if (x[i] + offsetX < 0) {
+                x[i] = -offsetX;
+                velocityX[i] = Math.abs(velocityX[i]);
+            } else if (x[i] + offsetX + charWidth > GameConfig.WORLD_WIDTH) {
+                x[i] = GameConfig.WORLD_WIDTH - charWidth - offsetX;
+                velocityX[i] = -Math.abs(velocityX[i]);
+            }
+
+            if (y[i] + offsetY < 0) {
+                y[i] = -offsetY;
+                velocityY[i] = Math.abs(velocityY[i]);
+            } else if (y[i] + offsetY + charHeight > GameConfig.WORLD_HEIGHT) {
+                y[i] = GameConfig.WORLD_HEIGHT - charHeight - offsetY;
+                velocityY[i] = -Math.abs(velocityY[i]);
             }
-            enemy.setShootTimer(MathUtils.random(GameConfig.MIN_TIMER_DURATION, GameConfig.MAX_TIMER_DURATION));
         }
     }
-    
+
     /**
-     * Sets a random direction for the velocity vector.
+     * Sets a random direction for an enemy's velocity.
      *
-     * @param velocity The velocity vector to modify
+     * @param velocityX The x velocity column
+     * @param velocityY The y velocity column
+     * @param slot Slot of the enemy
      */
-    private void setRandomDirection(Vector2 velocity) {
-        float angle = MathUtils.random(0f, 360f);
-        velocity.x = MathUtils.cosDeg(angle) * GameConfig.ENEMY_SPEED;
-        velocity.y = MathUtils.sinDeg(angle) * GameConfig.ENEMY_SPEED;
+    private void setRandomDirection(float[] velocityX, float[] velocityY, int slot) {
+        float angle = random.nextFloat() * 360f;
+        velocityX[slot] = MathUtils.cosDeg(angle) * GameConfig.ENEMY_SPEED;
+        velocityY[slot] = MathUtils.sinDeg(angle) * GameConfig.ENEMY_SPEED;
     }
-    
+
     /**
-     * Keeps the enemy within screen bounds by bouncing off edges.
+     * Picks a random duration for a movement or shooting timer.
      *
-     * @param enemy The enemy to constrain
+     * @return Duration in seconds
      */
-    private void keepWithinBounds(Enemy enemy) {
-        float x = enemy.getX();
-        float y = enemy.getY();
-        float charWidth = enemy.getSprite().getWidth() * enemy.getSprite().getScaleX();
-        float charHeight = enemy.getSprite().getHeight() * enemy.getSprite().getScaleY();
-        Vector2 velocity = enemy.getVelocity();
-        
-        // Bounce off edges
-        if (x < 0) {
-            enemy.setPosition(0, y);
-            velocity.x = Math.abs(velocity.x);
-        } else if (x + charWidth > GameConfig.SCREEN_WIDTH) {
-            enemy.setPosition(GameConfig.SCREEN_WIDTH - charWidth, y);
-            velocity.x = -Math.abs(velocity.x);
-        }
-        
-        if (y < 0) {
-            enemy.setPosition(x, 0);
-            velocity.y = Math.abs(velocity.y);
-        } else if (y + charHeight > GameConfig.SCREEN_HEIGHT) {
-            enemy.setPosition(x, GameConfig.SCREEN_HEIGHT - charHeight);
-            velocity.y = -Math.abs(velocity.y);
-        }
+    private float randomTimerDuration() {
+        return GameConfig.MIN_TIMER_DURATION
+            + random.nextFloat() * (GameConfig.MAX_TIMER_DURATION - GameConfig.MIN_TIMER_DURATION);
+    }
+
+    /**
+     * Saves the scratch generator's state into an enemy's brain.
+     */
+    private void storeRandom(long[] state0, long[] state1, int slot) {
+        state0[slot] = random.getState(0);
+        state1[slot] = random.getState(1);
+    }
+
+    // Getters
+    public BulletPatternLibrary getPatterns() {
+        return patterns;
     }
 }
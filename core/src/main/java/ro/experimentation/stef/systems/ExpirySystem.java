@@ -0,0 +1,208 @@
+package ro.experimentation.stef.systems;
+
+import com.badlogic.gdx.math.MathUtils;
+import java.util.Arrays;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.EntityRegistry;
+
+/**
+ * Destroys entities when their time to live runs out, without scanning them every tick.
+ * <p>
+ * Handles are filed into a timing wheel of per-tick buckets, and {@link #update(float)}
+ * only visits the buckets that came due. Entities destroyed early, e.g. by a hit, are not
+ * unlinked: their handles simply fail the registry's generation check when their bucket
+ * comes due. Lifetimes are capped at {@link GameConfig#PROJECTILE_MAX_LIFETIME}, and an index
+ * changes generation at most once per tick, so with the tick rate capped at
+ * {@link ro.experimentation.stef.config.PerformanceProfile#MAX_TICK_RATE} no index can wrap
+ * its generation before a stale handle comes due.
+ * <p>
+ * Buckets are linked lists threaded through one shared pool of nodes, and emptied buckets
+ * return their nodes to it. The pool only grows when more expiries are pending at once
+ * than ever before, rather than whenever any single bucket sees a new peak.
+ */
+public class ExpirySystem {
+    // Width of one expiry bucket in seconds
+    private static final float BUCKET_DURATION = 1f / GameConfig.SIMULATION_TICK_RATE;
+    // Enough buckets to cover the longest lifetime, rounded up for cheap wrapping
+    private static final int WHEEL_SIZE =
+        MathUtils.nextPowerOfTwo(MathUtils.ceil(GameConfig.PROJECTILE_MAX_LIFETIME / BUCKET_DURATION) + 2);
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static final int NONE = -1;
+
+    private final EntityRegistry registry;
+
+    // First and last node of every bucket, NONE when empty
+    private final int[] bucketHeads;
+    private final int[] bucketTails;
+
+    // Node pool: the scheduled entity and the next node of its bucket or of the free list
+    private int[] nodeEntity;
+    private int[] nodeNext;
+    private int freeNodes;
+    private int nodeMisses;
+
+    private double time;
+    private int expiredSlot;
+
+    /**
+     * Creates a new ExpirySystem with room for 1024 scheduled entities before growing.
+     *
+     * @param registry Registry the expiring entities live in
+     */
+    public ExpirySystem(EntityRegistry registry) {
+        this(registry, 1024);
+    }
+
+    /**
+     * Creates a new ExpirySystem.
+     *
+     * @param registry Registry the expiring entities live in
+     * @param initialCapacity Entities that can be scheduled at once before the node pool grows
+     */
+    public ExpirySystem(EntityRegistry registry, int initialCapacity) {
+        this.registry = registry;
+        this.bucketHeads = new int[WHEEL_SIZE];
+        this.bucketTails = new int[WHEEL_SIZE];
+        Arrays.fill(bucketHeads, NONE);
+        Arrays.fill(bucketTails, NONE);
+        this.nodeEntity = new int[0];
+        this.nodeNext = new int[0];
+        this.freeNodes = NONE;
+        this.nodeMisses = 0;
+        growNodes(Math.max(1, initialCapacity));
+        this.time = 0;
+        this.expiredSlot = 0;
+    }
+
+    /**
+     * Schedules an entity's destruction.
+     *
+     * @param entity The entity handle
+     * @param lifetime Seconds until the entity expires, capped at {@link GameConfig#PROJECTILE_MAX_LIFETIME}
+     */
+    public void schedule(int entity, float lifetime) {
+        double expiryTime = time + Math.min(lifetime, GameConfig.PROJECTILE_MAX_LIFETIME);
+        // Round up so an entity never expires early, and never into an already processed bucket
+        int slot = Math.max((int) Math.ceil(expiryTime / BUCKET_DURATION), expiredSlot + 1);
+
+        if (freeNodes == NONE) {
+            growNodes(nodeEntity.length * 2);
+            nodeMisses++;
+        }
+        int node = freeNodes;
+        freeNodes = nodeNext[node];
+        nodeEntity[node] = entity;
+        nodeNext[node] = NONE;
+
+        // Append, so entities expire in the order they were scheduled
+        int bucket = slot & WHEEL_MASK;
+        if (bucketTails[bucket] == NONE) {
+            bucketHeads[bucket] = node;
+        } else {
+            nodeNext[bucketTails[bucket]] = node;
+        }
+        bucketTails[bucket] = node;
+    }
+
+    /**
+     * Advances the clock and queues every entity whose time to live ran out for destruction.
+     *
+     * @param delta Duration of the tick in seconds
+     */
+    public void update(float delta) {
+        time += delta;
+        int dueSlot = (int) (time / BUCKET_DURATION);
+        for (; expiredSlot < dueSlot; expiredSlot++) {
+            int bucket = (expiredSlot + 1) & WHEEL_MASK;
+            for (int node = bucketHeads[bucket]; node != NONE; node = nodeNext[node]) {
+                int entity = nodeEntity[node];
+                if (registry.isAlive(entity)) {
+                    registry.destroyLater(entity);
+                }
+            }
+            releaseBucket(bucket);
+        }
+    }
+
+    /**
+     * Drops every scheduled expiry.
+     */
+    public void clear() {
+        for (int bucket = 0; bucket < WHEEL_SIZE; bucket++) {
+            releaseBucket(bucket);
+        }
+    }
+
+    /**
+     * Returns a bucket's nodes to the free list and empties it.
+     */
+    private void releaseBucket(int bucket) {
+        if (bucketHeads[bucket] == NONE) {
+            return;
+        }
+        nodeNext[bucketTails[bucket]] = freeNodes;
+        freeNodes = bucketHeads[bucket];
+        bucketHeads[bucket] = NONE;
+        bucketTails[bucket] = NONE;
+    }
+
+    /**
+     * Enlarges the node pool and adds the new nodes to the free list.
+     *
+     * @param capacity The new number of nodes
+     */
+    private void growNodes(int capacity) {
+        int oldCapacity = nodeEntity.length;
+        nodeEntity = Arrays.copyOf(nodeEntity, capacity);
+        nodeNext = Arrays.copyOf(nodeNext, capacity);
+        for (int node = capacity - 1; node >= oldCapacity; node--) {
+            nodeNext[node] = freeNodes;
+            freeNodes = node;
+        }
+    }
+
+    /**
+     * Computes when a box moving in a straight line is fully outside an area anchored at the origin.
+     *
+     * @param x The x coordinate of the box's bottom-left corner
+     * @param y The y coordinate of the box's bottom-left corner
+     * @param velocityX The x velocity in pixels per second
+     * @param velocityY The y velocity in pixels per second
+     * @param width Width of the box
+     * @param height Height of the box
+     * @param boundsWidth Width of the area
+     * @param boundsHeight Height of the area
+     * @return Seconds until the box has left, or infinity if it never does
+     */
+    public static float timeToLeaveBounds(float x, float y, float velocityX, float velocityY,
+                                          float width, float height, float boundsWidth, float boundsHeight) {
+        float exitX = Float.POSITIVE_INFINITY;
+        if (velocityX > 0) {
+            exitX = (boundsWidth - x) / velocityX;
+        } else if (velocityX < 0) {
+            exitX = (x + width) / -velocityX;
+        }
+        float exitY = Float.POSITIVE_INFINITY;
+        if (velocityY > 0) {
+            exitY = (boundsHeight - y) / velocityY;
+        } else if (velocityY < 0) {
+            exitY = (y + height) / -velocityY;
+        }
+        return Math.max(0f, Math.min(exitX, exitY));
+    }
+
+    // Getters
+    public int getNodeCapacity() {
+        return nodeEntity.length;
+    }
+
+    /**
+     * Gets the number of times the node pool ran out and had to grow.
+     *
+     * @return Node pool growths since creation
+     */
+    public int getNodeMisses() {
+        return nodeMisses;
+    }
+}
@@ -1,164 +1,358 @@
 package ro.experimentation.stef.systems;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import ro.experimentation.stef.audio.SoundEffect;
+import ro.experimentation.stef.audio.SoundEngine;
 import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.weapons.BulletPatternLibrary;
 
 /**
  * Manages all game assets including textures, sprites, and sounds.
  * Centralizes resource loading and disposal.
+ * The background, every character, a small white square and the default font's glyph page
+ * are packed into one {@link TextureAtlas}, so SpriteBatch never switches textures mid-frame.
+ * The white region is tinted to draw flat shapes through the same batch, and the font
+ * draws text from its atlas region, so sprites, health bars and HUD text can share a draw call.
+ * <p>
+ * Loading runs in phases. {@link #startLoading()} decodes every image to a Pixmap in
+ * parallel on the common ForkJoinPool and packs the results into atlas pages on a worker.
+ * {@link #update()}, called once per frame on the render thread, then uploads a few atlas
+ * pages per frame ({@link GameConfig#TEXTURE_UPLOADS_PER_FRAME} by default) to the GPU before decoding the
+ * sound effects into the {@link SoundEngine}, opening the music and compiling the bullet patterns.
+ * The sound engine belongs to the game, which disposes it.
  */
 public class GameAssetManager {
-    // Character textures
-    private Texture[] characterTextures;
-    
+    private static final String BACKGROUND_REGION = "background";
+    private static final String CHARACTER_REGION_PREFIX = "character";
+    private static final String WHITE_REGION = "white";
+    private static final String FONT_REGION = "font";
+    // libGDX's built-in font, the one new BitmapFont() loads
+    private static final String FONT_FILE = "com/badlogic/gdx/utils/lsans-15.fnt";
+    private static final String FONT_IMAGE = "com/badlogic/gdx/utils/lsans-15.png";
+    private static final int ATLAS_PADDING = 2;
+    private static final int WHITE_SIZE = 4;
+
+    // Images decoded off the render thread, packed in this order
+    private static final String[] IMAGE_NAMES;
+    private static final String[] IMAGE_PATHS;
+
+    static {
+        int count = GameConfig.CHARACTER_TEXTURES.length + 1;
+        IMAGE_NAMES = new String[count];
+        IMAGE_PATHS = new String[count];
+        // Pack the largest image first so the remaining ones fill around it
+        IMAGE_NAMES[0] = BACKGROUND_REGION;
+        IMAGE_PATHS[0] = GameConfig.BACKGROUND_TEXTURE;
+        for (int i = 0; i < GameConfig.CHARACTER_TEXTURES.length; i++) {
+            IMAGE_NAMES[i + 1] = CHARACTER_REGION_PREFIX + i;
+            IMAGE_PATHS[i + 1] = GameConfig.CHARACTER_TEXTURES[i];
+        }
+    }
+
+    // Loading state
+    private final ExecutorService decodeExecutor;
+    private final AtomicInteger decodedImages;
+    private final int textureUploadsPerFrame;
+    private CompletableFuture<PixmapPacker> packing;
+    private PixmapPacker packer;
+    private int uploadedPages;
+    private boolean loaded;
+
+    // Atlas holding every image drawn during gameplay
+    private TextureAtlas atlas;
+
+    // Character regions
+    private TextureRegion[] characterRegions;
+
     // Background and UI
-    private Texture backgroundTexture;
-    
-    // Music
-    private Music gameMusic;
-    
-    // Projectile textures
-    private Texture redLaserTexture;
-    private Texture blueLaserTexture;
-    private Texture yellowLaserTexture;
-    private Texture cyanBeamTexture;
-    private Texture greenLaserTexture;
-    private Texture magentaLaserTexture;
-    private Texture orangeLaserTexture;
-    
+    private TextureRegion backgroundRegion;
+
+    // Solid white region, tinted to draw flat shapes
+    private TextureRegion whiteRegion;
+
+    // Font drawing its glyphs from the atlas
+    private BitmapFont font;
+
+    // Sound effects and music
+    private final SoundEngine soundEngine;
+
+    // Enemy bullet patterns
+    private BulletPatternLibrary bulletPatterns;
+
     /**
-     * Loads all game assets.
+     * Creates a new asset manager that decodes images on the common ForkJoinPool.
+     * Decoding is CPU-bound, so a pool sized to the core count is the right fit.
+     *
+     * @param textureUploadsPerFrame Most atlas pages uploaded to the GPU per frame
+     * @param soundEngine Engine the sound effects and music are loaded into
      */
-    public void loadAssets() {
-        // Load character textures
-        characterTextures = new Texture[GameConfig.CHARACTER_TEXTURES.length];
-        for (int i = 0; i < GameConfig.CHARACTER_TEXTURES.length; i++) {
-            characterTextures[i] = new Texture(GameConfig.CHARACTER_TEXTURES[i]);
-        }
-        
-        // Load background
-        backgroundTexture = new Texture(GameConfig.BACKGROUND_TEXTURE);
-        
-        // Load music
-        gameMusic = Gdx.audio.newMusic(Gdx.files.internal(GameConfig.MUSIC_FILE));
-        gameMusic.setLooping(true);
-        
-        // Create laser textures programmatically
-        redLaserTexture = createColoredTexture(40, 5, Color.RED);
-        blueLaserTexture = createColoredTexture(40, 5, Color.BLUE);
-        yellowLaserTexture = createColoredTexture(40, 5, Color.YELLOW);
-        cyanBeamTexture = createColoredTexture(150, 25, Color.CYAN);
-        greenLaserTexture = createColoredTexture(50, 8, Color.GREEN);
-        magentaLaserTexture = createColoredTexture(35, 7, Color.MAGENTA);
-        orangeLaserTexture = createColoredTexture(200, 40, Color.ORANGE);
-    }
-    
+    public GameAssetManager(int textureUploadsPerFrame, SoundEngine soundEngine) {
+        this.decodeExecutor = ForkJoinPool.commonPool();
+        this.decodedImages = new AtomicInteger();
+        this.textureUploadsPerFrame = textureUploadsPerFrame;
+        this.soundEngine = soundEngine;
+    }
+
+    /**
+     * Starts decoding and packing every image in the background. Returns immediately.
+     */
+    public void startLoading() {
+        if (packing != null) {
+            return;
+        }
+
+        List<CompletableFuture<Pixmap>> decodes = new ArrayList<>(IMAGE_PATHS.length);
+        for (String path : IMAGE_PATHS) {
+            decodes.add(CompletableFuture.supplyAsync(() -> decodeImage(path), decodeExecutor));
+        }
+
+        packing = allOf(decodes)
+            .thenApplyAsync(ignored -> packImages(decodes), decodeExecutor);
+    }
+
     /**
-     * Creates a colored texture programmatically.
+     * Creates a future completing once every given future has completed.
      *
-     * @param width Width of the texture
-     * @param height Height of the texture
-     * @param color Color of the texture
-     * @return The created texture
+     * @param futures The futures to wait for
+     * @return The combined future
      */
-    private Texture createColoredTexture(int width, int height, Color color) {
-        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
-        pixmap.setColor(color);
-        pixmap.fill();
-        Texture texture = new Texture(pixmap);
-        pixmap.dispose();
-        return texture;
+    @SuppressWarnings("rawtypes")
+    private static CompletableFuture<Void> allOf(List<? extends CompletableFuture<?>> futures) {
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
     }
-    
+
     /**
-     * Disposes all loaded assets.
+     * Advances loading by one frame's worth of render-thread work.
+     * Must be called on the render thread.
+     *
+     * @return true once every asset is loaded
      */
-    public void dispose() {
-        if (characterTextures != null) {
-            for (Texture texture : characterTextures) {
-                if (texture != null) {
-                    texture.dispose();
-                }
-            }
-        }
-        
-        if (backgroundTexture != null) {
-            backgroundTexture.dispose();
+    public boolean update() {
+        if (loaded) {
+            return true;
         }
-        
-        if (gameMusic != null) {
-            gameMusic.dispose();
+        if (packing == null) {
+            startLoading();
         }
-        
-        if (redLaserTexture != null) {
-            redLaserTexture.dispose();
+        if (packer == null) {
+            if (!packing.isDone()) {
+                return false;
+            }
+            try {
+                packer = packing.join();
+            } catch (CompletionException e) {
+                throw new GdxRuntimeException("Failed to load game images", e.getCause());
+            }
         }
-        if (blueLaserTexture != null) {
-            blueLaserTexture.dispose();
+
+        // Upload a few atlas pages per frame
+        Array<PixmapPacker.Page> pages = packer.getPages();
+        int uploads = 0;
+        while (uploadedPages < pages.size && uploads < textureUploadsPerFrame) {
+            pages.get(uploadedPages).updateTexture(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear, false);
+            uploadedPages++;
+            uploads++;
         }
-        if (yellowLaserTexture != null) {
-            yellowLaserTexture.dispose();
+        if (uploadedPages < pages.size || uploads > 0) {
+            return false;
         }
-        if (cyanBeamTexture != null) {
-            cyanBeamTexture.dispose();
+
+        finishAtlas();
+
+        // Load sound effects and music
+        for (int i = 0; i < SoundEffect.count(); i++) {
+            SoundEffect effect = SoundEffect.fromOrdinal(i);
+            soundEngine.load(effect, Gdx.files.internal(effect.getFile()));
         }
-        if (greenLaserTexture != null) {
-            greenLaserTexture.dispose();
+        soundEngine.loadMusic(Gdx.files.internal(GameConfig.MUSIC_FILE));
+
+        bulletPatterns = BulletPatternLibrary.load(Gdx.files.internal(GameConfig.BULLET_PATTERNS_FILE).read());
+
+        loaded = true;
+        return true;
+    }
+
+    /**
+     * Blocks until every asset is loaded. Must be called on the render thread.
+     */
+    public void finishLoading() {
+        startLoading();
+        while (!update()) {
+            if (packer == null) {
+                packing.join();
+            }
         }
-        if (magentaLaserTexture != null) {
-            magentaLaserTexture.dispose();
+    }
+
+    /**
+     * Gets the loading progress, counting decoded images and uploaded atlas pages.
+     *
+     * @return Progress in [0, 1]
+     */
+    public float getProgress() {
+        if (loaded) {
+            return 1f;
         }
-        if (orangeLaserTexture != null) {
-            orangeLaserTexture.dispose();
+        // Decoding dominates; packing and uploads share the last fifth
+        float decodeProgress = decodedImages.get() / (float) IMAGE_PATHS.length;
+        float uploadProgress = packer == null ? 0f : uploadedPages / (float) (packer.getPages().size + 1);
+        return decodeProgress * 0.8f + uploadProgress * 0.2f;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Reads and decodes an image file. Runs on a decode worker.
+     *
+     * @param path Internal path of the image
+     * @return The decoded pixmap
+     */
+    private Pixmap decodeImage(String path) {
+        byte[] bytes = Gdx.files.internal(path).readBytes();
+        Pixmap pixmap = new Pixmap(bytes, 0, bytes.length);
+        decodedImages.incrementAndGet();
+        return pixmap;
+    }
+
+    /**
+     * Packs the decoded images, the white square and the font page into atlas pages. Runs on a decode worker,
+     * once every image is decoded, so the layout does not depend on decode order.
+     *
+     * @param decodes The completed decode results, in {@link #IMAGE_NAMES} order
+     * @return The packer holding the filled pages
+     */
+    private PixmapPacker packImages(List<CompletableFuture<Pixmap>> decodes) {
+        PixmapPacker pixmapPacker = new PixmapPacker(GameConfig.ATLAS_PAGE_SIZE, GameConfig.ATLAS_PAGE_SIZE,
+                                                     Pixmap.Format.RGBA8888, ATLAS_PADDING, false);
+        for (int i = 0; i < decodes.size(); i++) {
+            Pixmap pixmap = decodes.get(i).join();
+            pixmapPacker.pack(IMAGE_NAMES[i], pixmap);
+            pixmap.dispose();
         }
+        Pixmap white = createColoredPixmap(WHITE_SIZE, WHITE_SIZE, Color.WHITE);
+        pixmapPacker.pack(WHITE_REGION, white);
+        white.dispose();
+        Pixmap fontPage = new Pixmap(Gdx.files.classpath(FONT_IMAGE));
+        pixmapPacker.pack(FONT_REGION, fontPage);
+        fontPage.dispose();
+        return pixmapPacker;
     }
-    
-    // Getters
-    public Texture[] getCharacterTextures() {
-        return characterTextures;
+
+    /**
+     * Builds the atlas from the uploaded pages and looks up every region.
+     */
+    private void finishAtlas() {
+        atlas = new TextureAtlas();
+        // Pages are already uploaded, so this only registers their regions
+        packer.updateTextureAtlas(atlas, Texture.TextureFilter.Linear, Texture.TextureFilter.Linear, false);
+        packer.dispose();
+        packer = null;
+
+        backgroundRegion = atlas.findRegion(BACKGROUND_REGION);
+        characterRegions = new TextureRegion[GameConfig.CHARACTER_TEXTURES.length];
+        for (int i = 0; i < characterRegions.length; i++) {
+            characterRegions[i] = atlas.findRegion(CHARACTER_REGION_PREFIX + i);
+        }
+
+        // Sample the middle of the white square so linear filtering never reaches the padding
+        whiteRegion = new TextureRegion(atlas.findRegion(WHITE_REGION), 1, 1, WHITE_SIZE - 2, WHITE_SIZE - 2);
+
+        font = new BitmapFont(Gdx.files.classpath(FONT_FILE), atlas.findRegion(FONT_REGION), false);
     }
-    
-    public Texture getCharacterTexture(int index) {
-        return characterTextures[index];
+
+    /**
+     * Creates a colored pixmap programmatically.
+     *
+     * @param width Width of the pixmap
+     * @param height Height of the pixmap
+     * @param color Color of the pixmap
+     * @return The created pixmap
+     */
+    private Pixmap createColoredPixmap(int width, int height, Color color) {
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        pixmap.setColor(color);
+        pixmap.fill();
+        return pixmap;
     }
-    
-    public Texture getBackgroundTexture() {
-        return backgroundTexture;
+
+    /**
+     * Disposes all loaded assets.
+     */
+    public void dispose() {
+        if (packing != null && packer == null && !loaded) {
+            // Still decoding: release the pages whenever the workers finish
+            packing.whenComplete((pending, error) -> {
+                if (pending != null) {
+                    pending.dispose();
+                }
+            });
+        }
+        if (packer != null) {
+            // Loading stopped mid-upload: pages already on the GPU are not owned by an atlas yet
+            for (PixmapPacker.Page page : packer.getPages()) {
+                if (page.getTexture() != null) {
+                    page.getTexture().dispose();
+                }
+            }
+            packer.dispose();
+        }
+
+        if (font != null) {
+            font.dispose();
+        }
+        if (atlas != null) {
+            atlas.dispose();
+        }
     }
-    
-    public Music getGameMusic() {
-        return gameMusic;
+
+    // Getters
+    public TextureRegion[] getCharacterRegions() {
+        return characterRegions;
     }
-    
-    public Texture getRedLaserTexture() {
-        return redLaserTexture;
+
+    public TextureRegion getCharacterRegion(int index) {
+        return characterRegions[index];
     }
-    
-    public Texture getBlueLaserTexture() {
-        return blueLaserTexture;
+
+    public TextureRegion getBackgroundRegion() {
+        return backgroundRegion;
     }
-    
-    public Texture getYellowLaserTexture() {
-        return yellowLaserTexture;
+
+    public TextureRegion getWhiteRegion() {
+        return whiteRegion;
     }
-    
-    public Texture getCyanBeamTexture() {
-        return cyanBeamTexture;
+
+    public BitmapFont getFont() {
+        return font;
     }
-    
-    public Texture getGreenLaserTexture() {
-        return greenLaserTexture;
+
+    public TextureAtlas getAtlas() {
+        return atlas;
     }
-    
-    public Texture getMagentaLaserTexture() {
-        return magentaLaserTexture;
+
+    public SoundEngine getSoundEngine() {
+        return soundEngine;
     }
-    
-    public Texture getOrangeLaserTexture() {
-        return orangeLaserTexture;
+
+    public BulletPatternLibrary getBulletPatterns() {
+        return bulletPatterns;
     }
 }
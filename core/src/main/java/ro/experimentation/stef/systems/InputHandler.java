@@ -2,108 +2,100 @@ package ro.experimentation.stef.systems;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import ro.experimentation.stef.config.GameConfig;
-import ro.experimentation.stef.entities.Player;
+import ro.experimentation.stef.world.InputState;
 
 /**
  * Handles all player input processing.
- * Separates input handling from game logic.
+ * Translates the keyboard into an {@link InputState} for the simulation, so game logic
+ * never reads Gdx.input directly.
+ * Held keys are sampled once per rendered frame by {@link #poll()}; one-shot presses are
+ * latched until a simulation tick consumes them, so a press is neither lost nor repeated
+ * when a frame runs zero or several fixed ticks.
  */
 public class InputHandler {
-    private float laserCooldown;
-    
+    private final InputState state;
+
     /**
      * Creates a new InputHandler.
      */
     public InputHandler() {
-        this.laserCooldown = 0f;
+        this.state = new InputState();
     }
-    
+
     /**
-     * Updates the input handler state.
-     *
-     * @param delta Time elapsed since last frame
+     * Samples the keyboard into the input state. Call once per rendered frame.
      */
-    public void update(float delta) {
-        if (laserCooldown > 0) {
-            laserCooldown -= delta;
+    public void poll() {
+        state.set(InputState.LEFT, Gdx.input.isKeyPressed(Input.Keys.LEFT));
+        state.set(InputState.RIGHT, Gdx.input.isKeyPressed(Input.Keys.RIGHT));
+        state.set(InputState.UP, Gdx.input.isKeyPressed(Input.Keys.UP));
+        state.set(InputState.DOWN, Gdx.input.isKeyPressed(Input.Keys.DOWN));
+        state.set(InputState.SHOOT, Gdx.input.isKeyPressed(Input.Keys.SPACE));
+
+        // Latch one-shot presses; they stay set until a tick consumes them
+        if (Gdx.input.isKeyJustPressed(Input.Keys.A)) {
+            state.set(InputState.ABILITY_A, true);
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.S)) {
+            state.set(InputState.ABILITY_S, true);
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.D)) {
+            state.set(InputState.ABILITY_D, true);
         }
     }
-    
+
     /**
-     * Handles player movement input.
-     *
-     * @param player The player to move
-     * @param delta Time elapsed since last frame
+     * Discards latched one-shot presses once a simulation tick has consumed them.
      */
-    public void handleMovement(Player player, float delta) {
-        float speed = GameConfig.PLAYER_SPEED;
-        
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
-            player.move(speed * delta, 0);
-        } else if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
-            player.move(-speed * delta, 0);
-        }
-        
-        if (Gdx.input.isKeyPressed(Input.Keys.UP)) {
-            player.move(0, speed * delta);
-        } else if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
-            player.move(0, -speed * delta);
-        }
+    public void clearLatchedInput() {
+        state.set(InputState.ONE_SHOT_KEYS, false);
     }
-    
+
     /**
-     * Checks if the shoot key is pressed and cooldown allows shooting.
+     * Gets the input state fed to the simulation.
      *
-     * @return true if player should shoot
+     * @return The current input state
      */
-    public boolean shouldShoot() {
-        if (Gdx.input.isKeyPressed(Input.Keys.SPACE) && laserCooldown <= 0) {
-            laserCooldown = GameConfig.LASER_COOLDOWN_TIME;
-            return true;
-        }
-        return false;
+    public InputState getState() {
+        return state;
     }
-    
+
     /**
-     * Checks if ability A should be triggered.
+     * Checks if the pause key was pressed.
      *
-     * @param player The player
-     * @return true if ability should trigger
+     * @return true if pause should toggle
      */
-    public boolean shouldTriggerAbilityA(Player player) {
-        return Gdx.input.isKeyJustPressed(Input.Keys.A) && player.isAbilityAReady();
+    public boolean shouldTogglePause() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.P);
     }
-    
+
     /**
-     * Checks if ability S should be triggered.
+     * Checks if the performance overlay key was pressed.
      *
-     * @param player The player
-     * @return true if ability should trigger
+     * @return true if the overlay should toggle
      */
-    public boolean shouldTriggerAbilityS(Player player) {
-        return Gdx.input.isKeyJustPressed(Input.Keys.S) && player.isAbilitySReady();
+    public boolean shouldTogglePerformanceOverlay() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.F3);
     }
-    
+
     /**
-     * Checks if ability D should be triggered.
+     * Checks if the performance dump key was pressed.
      *
-     * @param player The player
-     * @return true if ability should trigger
+     * @return true if the buffered performance samples should be written to disk
      */
-    public boolean shouldTriggerAbilityD(Player player) {
-        return Gdx.input.isKeyJustPressed(Input.Keys.D) && player.isAbilityDReady();
+    public boolean shouldDumpPerformance() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.F4);
     }
-    
+
     /**
-     * Checks if the pause key was pressed.
+     * Checks if the save recording key was pressed.
      *
-     * @return true if pause should toggle
+     * @return true if the match's input recording should be written to disk
      */
-    public boolean shouldTogglePause() {
-        return Gdx.input.isKeyJustPressed(Input.Keys.P);
+    public boolean shouldSaveRecording() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.F5);
     }
-    
+
     /**
      * Checks if the exit key was pressed.
      *
@@ -0,0 +1,65 @@
+package ro.experimentation.stef.systems;
+
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.Query;
+
+import static ro.experimentation.stef.world.Components.*;
+
+/**
+ * Moves every entity with a position and a velocity, remembering where it started so
+ * rendering can interpolate between ticks.
+ * Entities with health stand still once it reaches zero.
+ */
+public class MovementSystem {
+
+    /**
+     * Moves every entity matched by a query.
+     *
+     * @param movers Query over POSITION, PREVIOUS_POSITION and VELOCITY
+     * @param delta Duration of the tick in seconds
+     */
+    public void update(Query movers, float delta) {
+        for (int c = 0; c < movers.chunkCount(); c++) {
+            Chunk chunk = movers.getChunk(c);
+            move(chunk, 0, chunk.size(), delta);
+        }
+    }
+
+    /**
+     * Moves a range of slots in one chunk. Disjoint ranges touch disjoint array elements,
+     * so they can be moved on different threads.
+     *
+     * @param chunk The chunk
+     * @param from First slot to move
+     * @param to Slot after the last one to move
+     * @param delta Duration of the tick in seconds
+     */
+    public void move(Chunk chunk, int from, int to, float delta) {
+        float[] x = chunk.floats(POSITION, X);
+        float[] y = chunk.floats(POSITION, Y);
+        float[] previousX = chunk.floats(PREVIOUS_POSITION, X);
+        float[] previousY = chunk.floats(PREVIOUS_POSITION, Y);
+        float[] velocityX = chunk.floats(VELOCITY, X);
+        float[] velocityY = chunk.floats(VELOCITY, Y);
+
+        if (!chunk.getArchetype().has(HEALTH)) {
+            for (int i = from; i < to; i++) {
+                previousX[i] = x[i];
+                previousY[i] = y[i];
+                x[i] += velocityX[i] * delta;
+                y[i] += velocityY[i] * delta;
+            }
+            return;
+        }
+
+        float[] health = chunk.floats(HEALTH, CURRENT);
+        for (int i = from; i < to; i++) {
+            previousX[i] = x[i];
+            previousY[i] = y[i];
+            if (health[i] > 0) {
+                x[i] += velocityX[i] * delta;
+                y[i] += velocityY[i] * delta;
+            }
+        }
+    }
+}
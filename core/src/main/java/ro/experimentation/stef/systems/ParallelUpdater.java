@@ -0,0 +1,300 @@
+package ro.experimentation.stef.systems;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.Query;
+import ro.experimentation.stef.weapons.ProjectileBuffer;
+
+/**
+ * Runs the per-entity parts of a tick, enemy updates and movement, across a ForkJoinPool
+ * once there is more than one task's worth of work, and serially otherwise.
+ * <p>
+ * A query's chunks are cut into tasks of about {@code taskSize} entities: small chunks are
+ * grouped into one task and large ones split across several, so the task count follows the
+ * entity count rather than the chunk layout. Tasks cover disjoint slots, in query order.
+ * <p>
+ * Each enemy task owns an EnemyAI and a spawn buffer, so workers share no mutable state.
+ * After every task finishes, the spawn buffers are appended to the real buffer in task
+ * order, which queues shots in the same order as the serial loop. Together with each
+ * enemy's own random state, this makes the parallel result identical to the serial one.
+ * <p>
+ * Tasks are created once and reinitialized between ticks, so a steady-state tick
+ * allocates nothing beyond what the pool itself does.
+ */
+public class ParallelUpdater {
+    private final ForkJoinPool pool;
+    private final int enemyTaskSize;
+    private final int movementTaskSize;
+    private boolean enabled;
+
+    private final Array<EnemyTask> enemyTasks;
+    private final Array<MovementTask> movementTasks;
+    private final TaskBatch batch;
+
+    /**
+     * Creates a parallel updater on the common pool with the configured task sizes.
+     */
+    public ParallelUpdater() {
+        this(ForkJoinPool.commonPool(), GameConfig.PARALLEL_ENEMY_CHUNK_SIZE, GameConfig.PARALLEL_PROJECTILE_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a parallel updater.
+     *
+     * @param pool The pool tasks run on
+     * @param enemyTaskSize Enemies per task
+     * @param movementTaskSize Moving entities per task
+     */
+    public ParallelUpdater(ForkJoinPool pool, int enemyTaskSize, int movementTaskSize) {
+        if (enemyTaskSize <= 0 || movementTaskSize <= 0) {
+            throw new IllegalArgumentException("task sizes must be positive: " + enemyTaskSize + ", " + movementTaskSize);
+        }
+        this.pool = pool;
+        this.enemyTaskSize = enemyTaskSize;
+        this.movementTaskSize = movementTaskSize;
+        this.enabled = true;
+        this.enemyTasks = new Array<>(true, 16, EnemyTask[]::new);
+        this.movementTasks = new Array<>(true, 16, MovementTask[]::new);
+        this.batch = new TaskBatch();
+    }
+
+    /**
+     * Updates every enemy's timers, direction and shooting.
+     *
+     * @param enemies Query over the enemies
+     * @param enemyAI AI used on the serial path
+     * @param targetX The x coordinate of the target's center
+     * @param targetY The y coordinate of the target's center
+     * @param targetAlive Whether there is a living target to shoot at
+     * @param projectiles Buffer receiving enemy shots
+     * @param delta Duration of the tick in seconds
+     */
+    public void updateEnemies(Query enemies, EnemyAI enemyAI, float targetX, float targetY, boolean targetAlive,
+                              ProjectileBuffer projectiles, float delta) {
+        if (taskCount(enemies.size(), enemyTaskSize) <= 1) {
+            for (int c = 0; c < enemies.chunkCount(); c++) {
+                Chunk chunk = enemies.getChunk(c);
+                enemyAI.update(chunk, 0, chunk.size(), targetX, targetY, targetAlive, projectiles, delta);
+            }
+            return;
+        }
+
+        int taskCount = 0;
+        int filled = enemyTaskSize;
+        for (int c = 0; c < enemies.chunkCount(); c++) {
+            Chunk chunk = enemies.getChunk(c);
+            for (int from = 0; from < chunk.size(); ) {
+                if (filled == enemyTaskSize) {
+                    if (enemyTasks.size == taskCount) {
+                        enemyTasks.add(new EnemyTask());
+                    }
+                    enemyTasks.get(taskCount++).prepare(enemyAI, targetX, targetY, targetAlive, delta);
+                    filled = 0;
+                }
+                int to = Math.min(chunk.size(), from + enemyTaskSize - filled);
+                enemyTasks.get(taskCount - 1).addRange(chunk, from, to);
+                filled += to - from;
+                from = to;
+            }
+        }
+        EnemyTask[] tasks = enemyTasks.items;
+        batch.run(tasks, taskCount);
+
+        // Merge spawns in task order, matching the serial enemy order
+        for (int t = 0; t < taskCount; t++) {
+            projectiles.addAll(tasks[t].spawnBuffer);
+            tasks[t].release();
+        }
+    }
+
+    /**
+     * Moves every entity matched by a query.
+     *
+     * @param movers Query over POSITION, PREVIOUS_POSITION and VELOCITY
+     * @param movement The movement system
+     * @param delta Duration of the tick in seconds
+     */
+    public void updateMovement(Query movers, MovementSystem movement, float delta) {
+        if (taskCount(movers.size(), movementTaskSize) <= 1) {
+            movement.update(movers, delta);
+            return;
+        }
+
+        int taskCount = 0;
+        int filled = movementTaskSize;
+        for (int c = 0; c < movers.chunkCount(); c++) {
+            Chunk chunk = movers.getChunk(c);
+            for (int from = 0; from < chunk.size(); ) {
+                if (filled == movementTaskSize) {
+                    if (movementTasks.size == taskCount) {
+                        movementTasks.add(new MovementTask());
+                    }
+                    movementTasks.get(taskCount++).prepare(movement, delta);
+                    filled = 0;
+                }
+                int to = Math.min(chunk.size(), from + movementTaskSize - filled);
+                movementTasks.get(taskCount - 1).addRange(chunk, from, to);
+                filled += to - from;
+                from = to;
+            }
+        }
+        MovementTask[] tasks = movementTasks.items;
+        batch.run(tasks, taskCount);
+        for (int t = 0; t < taskCount; t++) {
+            tasks[t].release();
+        }
+    }
+
+    /**
+     * Number of tasks to split work into, or 1 to run it serially.
+     */
+    private int taskCount(int items, int taskSize) {
+        if (!enabled || pool.getParallelism() <= 1) {
+            return 1;
+        }
+        return (items + taskSize - 1) / taskSize;
+    }
+
+    /**
+     * Enables or disables the parallel path. When disabled, every update runs serially.
+     *
+     * @param enabled Whether work may be split across the pool
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * A task covering slot ranges of one or more chunks.
+     * Tasks are forked within this process and never serialized, so their fields need not be Serializable.
+     */
+    @SuppressWarnings("serial")
+    private abstract static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        final Array<Chunk> chunks = new Array<>(true, 4, Chunk[]::new);
+        final IntArray froms = new IntArray(4);
+        final IntArray tos = new IntArray(4);
+
+        void addRange(Chunk chunk, int from, int to) {
+            chunks.add(chunk);
+            froms.add(from);
+            tos.add(to);
+        }
+
+        void clearRanges() {
+            chunks.clear();
+            froms.clear();
+            tos.clear();
+        }
+    }
+
+    /**
+     * Updates its ranges of enemies, spawning into a private buffer.
+     */
+    @SuppressWarnings("serial")
+    private static final class EnemyTask extends RangeTask {
+        private static final long serialVersionUID = 1L;
+
+        private final ProjectileBuffer spawnBuffer = new ProjectileBuffer(64);
+        private EnemyAI enemyAI;
+        private float targetX;
+        private float targetY;
+        private boolean targetAlive;
+        private float delta;
+
+        void prepare(EnemyAI serialAI, float targetX, float targetY, boolean targetAlive, float delta) {
+            reinitialize();
+            clearRanges();
+            // Each task needs its own scratch generator, but fires the same patterns
+            if (enemyAI == null || enemyAI.getPatterns() != serialAI.getPatterns()) {
+                enemyAI = new EnemyAI(serialAI.getPatterns());
+            }
+            this.targetX = targetX;
+            this.targetY = targetY;
+            this.targetAlive = targetAlive;
+            this.delta = delta;
+        }
+
+        void release() {
+            clearRanges();
+            spawnBuffer.clear();
+        }
+
+        @Override
+        protected void compute() {
+            for (int r = 0; r < chunks.size; r++) {
+                enemyAI.update(chunks.get(r), froms.get(r), tos.get(r), targetX, targetY, targetAlive,
+                               spawnBuffer, delta);
+            }
+        }
+    }
+
+    /**
+     * Moves its ranges of entities.
+     */
+    @SuppressWarnings("serial")
+    private static final class MovementTask extends RangeTask {
+        private static final long serialVersionUID = 1L;
+
+        private MovementSystem movement;
+        private float delta;
+
+        void prepare(MovementSystem movement, float delta) {
+            reinitialize();
+            clearRanges();
+            this.movement = movement;
+            this.delta = delta;
+        }
+
+        void release() {
+            clearRanges();
+            movement = null;
+        }
+
+        @Override
+        protected void compute() {
+            for (int r = 0; r < chunks.size; r++) {
+                movement.move(chunks.get(r), froms.get(r), tos.get(r), delta);
+            }
+        }
+    }
+
+    /**
+     * Forks a set of prepared tasks and waits for all of them.
+     * The calling thread hands the batch to the pool and blocks until it completes.
+     */
+    private final class TaskBatch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private RecursiveAction[] tasks;
+        private int count;
+
+        void run(RecursiveAction[] tasks, int count) {
+            reinitialize();
+            this.tasks = tasks;
+            this.count = count;
+            pool.invoke(this);
+            this.tasks = null;
+        }
+
+        @Override
+        protected void compute() {
+            for (int t = count - 1; t > 0; t--) {
+                tasks[t].fork();
+            }
+            tasks[0].invoke();
+            for (int t = 1; t < count; t++) {
+                tasks[t].join();
+            }
+        }
+    }
+}
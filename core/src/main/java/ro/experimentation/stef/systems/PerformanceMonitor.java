@@ -0,0 +1,228 @@
+package ro.experimentation.stef.systems;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Collects per-frame performance samples and summarizes them as rolling percentiles.
+ * Every metric keeps its last {@code capacity} frames in a preallocated ring buffer, and
+ * percentiles are computed into preallocated arrays, so sampling never allocates and does
+ * not disturb the allocation rate it reports.
+ */
+public class PerformanceMonitor {
+    /**
+     * Values sampled once per frame.
+     */
+    public enum Metric {
+        FRAME("frame", "ms"),
+        INPUT("input", "ms"),
+        AI("ai", "ms"),
+        PROJECTILES("integrate", "ms"),
+        COLLISION("collision", "ms"),
+        DRAW("draw", "ms"),
+        PROJECTILE_COUNT("projectiles", ""),
+        ENEMY_COUNT("enemies", ""),
+        RENDER_CALLS("batch calls", ""),
+        DRAW_CALLS("gl draws", ""),
+        TEXTURE_BINDS("tex binds", ""),
+        /** Allocation by the render thread only; ForkJoin workers of parallel updates are not counted. */
+        ALLOCATION_RATE("render-thread alloc", "MB/s"),
+        STORAGE_MISSES("storage misses", "");
+
+        private static final Metric[] VALUES = values();
+
+        private final String label;
+        private final String unit;
+
+        Metric(String label, String unit) {
+            this.label = label;
+            this.unit = unit;
+        }
+
+        /**
+         * Gets the metric at an ordinal without allocating a values() copy.
+         *
+         * @param id The ordinal
+         * @return The metric
+         */
+        public static Metric fromId(int id) {
+            return VALUES[id];
+        }
+
+        /**
+         * Gets the number of metrics.
+         *
+         * @return The metric count
+         */
+        public static int count() {
+            return VALUES.length;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+    }
+
+    // Percentiles reported for every metric
+    public static final float[] PERCENTILES = {0.5f, 0.95f, 0.99f};
+
+    private final int capacity;
+    private final float[][] samples;
+    private final float[] currentFrame;
+    private final float[] sortScratch;
+    private final float[][] percentiles;
+    private int head;
+    private int count;
+
+    // Null when the JVM cannot report per-thread allocation
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private long lastAllocatedBytes;
+
+    /**
+     * Creates a new monitor.
+     *
+     * @param capacity Number of frames kept per metric
+     */
+    public PerformanceMonitor(int capacity) {
+        this.capacity = capacity;
+        this.samples = new float[Metric.count()][capacity];
+        this.currentFrame = new float[Metric.count()];
+        this.sortScratch = new float[capacity];
+        this.percentiles = new float[Metric.count()][PERCENTILES.length];
+
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+            this.allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            this.allocationBean.setThreadAllocatedMemoryEnabled(true);
+            this.lastAllocatedBytes = allocationBean.getCurrentThreadAllocatedBytes();
+        } else {
+            this.allocationBean = null;
+        }
+    }
+
+    /**
+     * Sets a metric's value for the frame being sampled.
+     *
+     * @param metric The metric
+     * @param value The value for this frame
+     */
+    public void record(Metric metric, float value) {
+        currentFrame[metric.ordinal()] = value;
+    }
+
+    /**
+     * Stores the frame being sampled in the ring buffers and starts a new one.
+     */
+    public void endFrame() {
+        for (int m = 0; m < Metric.count(); m++) {
+            samples[m][head] = currentFrame[m];
+            currentFrame[m] = 0f;
+        }
+        head = (head + 1) % capacity;
+        if (count < capacity) {
+            count++;
+        }
+    }
+
+    /**
+     * Gets the bytes the calling thread allocated since the previous call.
+     *
+     * @return Allocated bytes, or -1 if the JVM cannot report them
+     */
+    public long sampleAllocatedBytes() {
+        if (allocationBean == null) {
+            return -1;
+        }
+        long allocated = allocationBean.getCurrentThreadAllocatedBytes();
+        long bytes = allocated - lastAllocatedBytes;
+        lastAllocatedBytes = allocated;
+        return bytes;
+    }
+
+    /**
+     * Recomputes every metric's percentiles from the buffered frames.
+     */
+    public void updatePercentiles() {
+        if (count == 0) {
+            return;
+        }
+        for (int m = 0; m < Metric.count(); m++) {
+            System.arraycopy(samples[m], 0, sortScratch, 0, count);
+            Arrays.sort(sortScratch, 0, count);
+            for (int p = 0; p < PERCENTILES.length; p++) {
+                int index = Math.min(count - 1, (int) (PERCENTILES[p] * count));
+                percentiles[m][p] = sortScratch[index];
+            }
+        }
+    }
+
+    /**
+     * Gets a percentile computed by the last {@link #updatePercentiles()}.
+     *
+     * @param metric The metric
+     * @param percentileIndex Index into {@link #PERCENTILES}
+     * @return The percentile value
+     */
+    public float getPercentile(Metric metric, int percentileIndex) {
+        return percentiles[metric.ordinal()][percentileIndex];
+    }
+
+    /**
+     * Drops every buffered frame.
+     */
+    public void clear() {
+        head = 0;
+        count = 0;
+        Arrays.fill(currentFrame, 0f);
+        for (float[] row : percentiles) {
+            Arrays.fill(row, 0f);
+        }
+        if (allocationBean != null) {
+            lastAllocatedBytes = allocationBean.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    /**
+     * Writes every buffered frame as CSV, oldest first, one column per metric.
+     *
+     * @param writer Destination of the CSV text
+     * @throws IOException If writing fails
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write("frame");
+        for (int m = 0; m < Metric.count(); m++) {
+            Metric metric = Metric.fromId(m);
+            writer.write(',');
+            writer.write(metric.name().toLowerCase(Locale.ROOT));
+        }
+        writer.write('\n');
+
+        int first = (head - count + capacity) % capacity;
+        for (int i = 0; i < count; i++) {
+            int slot = (first + i) % capacity;
+            writer.write(Integer.toString(i));
+            for (int m = 0; m < Metric.count(); m++) {
+                writer.write(',');
+                writer.write(Float.toString(samples[m][slot]));
+            }
+            writer.write('\n');
+        }
+    }
+
+    // Getters
+    public int getSampleCount() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
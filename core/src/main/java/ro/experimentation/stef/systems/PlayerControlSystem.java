@@ -0,0 +1,135 @@
+package ro.experimentation.stef.systems;
+
+import com.badlogic.gdx.math.MathUtils;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.Query;
+import ro.experimentation.stef.weapons.ProjectileBuffer;
+import ro.experimentation.stef.weapons.ProjectileFactory;
+import ro.experimentation.stef.world.InputState;
+
+import static ro.experimentation.stef.world.Components.*;
+
+/**
+ * Applies player input to every player-controlled entity: counts down the laser and
+ * ability cooldowns, sets the velocity from the movement keys and fires what is ready.
+ */
+public class PlayerControlSystem {
+    private final ProjectileFactory projectileFactory;
+
+    /**
+     * Creates a new PlayerControlSystem.
+     *
+     * @param projectileFactory Factory for creating projectiles
+     */
+    public PlayerControlSystem(ProjectileFactory projectileFactory) {
+        this.projectileFactory = projectileFactory;
+    }
+
+    /**
+     * Updates every living entity matched by the query.
+     *
+     * @param players Query over PLAYER_CONTROL, POSITION, VELOCITY, SIZE and HEALTH
+     * @param input Player input for this tick
+     * @param projectiles Buffer receiving the shots fired
+     * @param delta Duration of the tick in seconds
+     */
+    public void update(Query players, InputState input, ProjectileBuffer projectiles, float delta) {
+        for (int c = 0; c < players.chunkCount(); c++) {
+            Chunk chunk = players.getChunk(c);
+            float[] health = chunk.floats(HEALTH, CURRENT);
+            float[] velocityX = chunk.floats(VELOCITY, X);
+            float[] velocityY = chunk.floats(VELOCITY, Y);
+            float[] laserCooldown = chunk.floats(PLAYER_CONTROL, LASER_COOLDOWN);
+            float[] cooldownA = chunk.floats(PLAYER_CONTROL, ABILITY_A_COOLDOWN);
+            float[] cooldownS = chunk.floats(PLAYER_CONTROL, ABILITY_S_COOLDOWN);
+            float[] cooldownD = chunk.floats(PLAYER_CONTROL, ABILITY_D_COOLDOWN);
+            float[] x = chunk.floats(POSITION, X);
+            float[] y = chunk.floats(POSITION, Y);
+            float[] width = chunk.floats(SIZE, WIDTH);
+            float[] height = chunk.floats(SIZE, HEIGHT);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                if (health[i] <= 0) {
+                    velocityX[i] = 0;
+                    velocityY[i] = 0;
+                    continue;
+                }
+
+                // Update laser and ability cooldowns
+                laserCooldown[i] = countDown(laserCooldown[i], delta);
+                cooldownA[i] = countDown(cooldownA[i], delta);
+                cooldownS[i] = countDown(cooldownS[i], delta);
+                cooldownD[i] = countDown(cooldownD[i], delta);
+
+                // Handle movement
+                velocityX[i] = input.isDown(InputState.RIGHT) ? GameConfig.PLAYER_SPEED
+                    : input.isDown(InputState.LEFT) ? -GameConfig.PLAYER_SPEED : 0;
+                velocityY[i] = input.isDown(InputState.UP) ? GameConfig.PLAYER_SPEED
+                    : input.isDown(InputState.DOWN) ? -GameConfig.PLAYER_SPEED : 0;
+
+                float eyeX = ProjectileFactory.eyeX(x[i], width[i]);
+                float eyeY = ProjectileFactory.eyeY(y[i], height[i]);
+
+                // Handle shooting
+                if (input.isDown(InputState.SHOOT) && laserCooldown[i] <= 0) {
+                    laserCooldown[i] = GameConfig.LASER_COOLDOWN_TIME;
+                    projectileFactory.createPlayerLaser(eyeX, eyeY, projectiles);
+                }
+
+                // Handle abilities
+                if (input.isDown(InputState.ABILITY_A) && cooldownA[i] <= 0) {
+                    cooldownA[i] = GameConfig.ABILITY_COOLDOWN_TIME;
+                    projectileFactory.createRapidFire(eyeX, eyeY, projectiles);
+                }
+
+                if (input.isDown(InputState.ABILITY_S) && cooldownS[i] <= 0) {
+                    cooldownS[i] = GameConfig.ABILITY_COOLDOWN_TIME;
+                    projectileFactory.createCircularBurst(eyeX, eyeY, projectiles);
+                }
+
+                if (input.isDown(InputState.ABILITY_D) && cooldownD[i] <= 0) {
+                    cooldownD[i] = GameConfig.ABILITY_COOLDOWN_TIME;
+                    projectileFactory.createMegaBeam(eyeX, eyeY, projectiles);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps players' scaled bounds, which are scaled around the center of their unscaled
+     * bounds, inside the world after they moved.
+     *
+     * @param players Query over PLAYER_CONTROL, POSITION and SIZE
+     */
+    public void keepWithinBounds(Query players) {
+        for (int c = 0; c < players.chunkCount(); c++) {
+            Chunk chunk = players.getChunk(c);
+            float[] x = chunk.floats(POSITION, X);
+            float[] y = chunk.floats(POSITION, Y);
+            float[] width = chunk.floats(SIZE, WIDTH);
+            float[] height = chunk.floats(SIZE, HEIGHT);
+            float[] scale = chunk.floats(SIZE, SCALE);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                float scaledWidth = width[i] * scale[i];
+                float scaledHeight = height[i] * scale[i];
+                float offsetX = (width[i] - scaledWidth) / 2;
+                float offsetY = (height[i] - scaledHeight) / 2;
+                x[i] = MathUtils.clamp(x[i] + offsetX, 0f, Math.max(0f, GameConfig.WORLD_WIDTH - scaledWidth)) - offsetX;
+                y[i] = MathUtils.clamp(y[i] + offsetY, 0f, Math.max(0f, GameConfig.WORLD_HEIGHT - scaledHeight)) - offsetY;
+            }
+        }
+    }
+
+    /**
+     * Counts a cooldown down by one tick.
+     *
+     * @param cooldown Remaining cooldown in seconds
+     * @param delta Duration of the tick in seconds
+     * @return The new remaining cooldown
+     */
+    private static float countDown(float cooldown, float delta) {
+        return cooldown > 0 ? cooldown - delta : cooldown;
+    }
+}
@@ -0,0 +1,146 @@
+package ro.experimentation.stef.systems;
+
+import com.badlogic.gdx.utils.IntArray;
+import java.util.Arrays;
+
+/**
+ * Uniform grid broadphase over a fixed play area.
+ * Entities are registered by integer id into every cell their bounding box touches;
+ * queries return each overlapping id once. Cells are stored as singly linked lists in
+ * flat int arrays, so clearing and rebuilding every tick allocates nothing once warm.
+ * Boxes reaching outside the play area are clamped into the border cells.
+ */
+public final class SpatialHashGrid {
+    private final float cellSize;
+    private final int columns;
+    private final int rows;
+
+    // Head entry index per cell, -1 when empty
+    private final int[] cellHead;
+
+    // Entry storage: the id registered and the next entry in the same cell
+    private int[] entryId;
+    private int[] entryNext;
+    private int entryCount;
+
+    // Per-id stamp used to report an id only once per query
+    private int[] queryStamp;
+    private int currentStamp;
+
+    /**
+     * Creates a new grid covering the given area.
+     *
+     * @param width Width of the area covered
+     * @param height Height of the area covered
+     * @param cellSize Side length of a square cell
+     */
+    public SpatialHashGrid(float width, float height, float cellSize) {
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellHead = new int[columns * rows];
+        this.entryId = new int[64];
+        this.entryNext = new int[64];
+        this.queryStamp = new int[16];
+        clear();
+    }
+
+    /**
+     * Removes every registered id.
+     */
+    public void clear() {
+        Arrays.fill(cellHead, -1);
+        entryCount = 0;
+    }
+
+    /**
+     * Registers an id in every cell overlapped by the given box.
+     *
+     * @param id Non-negative id of the entity
+     * @param x The x coordinate of the box
+     * @param y The y coordinate of the box
+     * @param width The box width
+     * @param height The box height
+     */
+    public void insert(int id, float x, float y, float width, float height) {
+        if (id >= queryStamp.length) {
+            queryStamp = Arrays.copyOf(queryStamp, Math.max(id + 1, queryStamp.length * 2));
+        }
+        int minColumn = column(x);
+        int maxColumn = column(x + width);
+        int minRow = row(y);
+        int maxRow = row(y + height);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int cell = r * columns + c;
+                if (entryCount == entryId.length) {
+                    entryId = Arrays.copyOf(entryId, entryCount * 2);
+                    entryNext = Arrays.copyOf(entryNext, entryCount * 2);
+                }
+                entryId[entryCount] = id;
+                entryNext[entryCount] = cellHead[cell];
+                cellHead[cell] = entryCount;
+                entryCount++;
+            }
+        }
+    }
+
+    /**
+     * Collects the ids registered in any cell overlapped by the given box.
+     * Each id is reported once; the order is unspecified.
+     *
+     * @param x The x coordinate of the box
+     * @param y The y coordinate of the box
+     * @param width The box width
+     * @param height The box height
+     * @param results Cleared, then filled with candidate ids
+     */
+    public void query(float x, float y, float width, float height, IntArray results) {
+        results.clear();
+        if (entryCount == 0) {
+            return;
+        }
+        if (++currentStamp == 0) {
+            Arrays.fill(queryStamp, 0);
+            currentStamp = 1;
+        }
+        int minColumn = column(x);
+        int maxColumn = column(x + width);
+        int minRow = row(y);
+        int maxRow = row(y + height);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                for (int entry = cellHead[r * columns + c]; entry != -1; entry = entryNext[entry]) {
+                    int id = entryId[entry];
+                    if (queryStamp[id] != currentStamp) {
+                        queryStamp[id] = currentStamp;
+                        results.add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    private int column(float x) {
+        int c = (int) Math.floor(x / cellSize);
+        return c < 0 ? 0 : (c >= columns ? columns - 1 : c);
+    }
+
+    private int row(float y) {
+        int r = (int) Math.floor(y / cellSize);
+        return r < 0 ? 0 : (r >= rows ? rows - 1 : r);
+    }
+
+    // Getters
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+}
@@ -0,0 +1,174 @@
+package ro.experimentation.stef.systems;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import ro.experimentation.stef.ecs.Query;
+import ro.experimentation.stef.weapons.BulletPatternLibrary;
+import ro.experimentation.stef.world.EntityFactory;
+
+import static ro.experimentation.stef.world.Components.*;
+
+/**
+ * Brings enemies into the match in growing waves and removes them as soon as they fall.
+ * <p>
+ * Wave {@code n} starts {@link GameConfig#FIRST_WAVE_DELAY} plus {@code n - 1} times
+ * {@link GameConfig#WAVE_INTERVAL} seconds into the match and spawns
+ * {@link GameConfig#FIRST_WAVE_SIZE} plus {@code n - 1} times {@link GameConfig#WAVE_SIZE_GROWTH}
+ * enemies, one every {@link GameConfig#WAVE_SPAWN_INTERVAL} seconds, while fewer than the
+ * profile's enemy cap ({@link GameConfig#MAX_ENEMIES} by default) are alive.
+ * <p>
+ * Dead enemies are destroyed at the end of the tick they die in. The registry moves the
+ * enemy archetype's last row into the freed one and keeps emptied chunks and entity
+ * indices for reuse, so the enemy columns stay dense: every system iterating enemies only
+ * visits the living ones, and a new wave refills storage left by earlier waves instead of
+ * allocating.
+ * <p>
+ * Positions, looks and AI seeds are drawn from the match's generator, in spawn order, so
+ * waves are part of the deterministic simulation.
+ */
+public class WaveSpawner {
+    private final EntityRegistry registry;
+    private final EntityFactory entityFactory;
+    private final EnemyAI enemyAI;
+    private final BulletPatternLibrary patterns;
+    private final RandomXS128 random;
+    private final float[][] characterSizes;
+    private final int maxEnemies;
+
+    // Characters enemies are drawn as: every one but the player's
+    private final IntArray enemyCharacters;
+
+    private int spawnCount;
+    private int wave;
+    private float waveTimer;
+    private int pendingSpawns;
+    private float spawnTimer;
+
+    /**
+     * Creates a new WaveSpawner whose first wave is {@link GameConfig#FIRST_WAVE_DELAY} away.
+     *
+     * @param registry Registry the enemies live in
+     * @param entityFactory Factory creating the enemies
+     * @param enemyAI AI initializing every spawned enemy
+     * @param patterns The bullet patterns handed out to enemies in spawn order
+     * @param random The match's random generator
+     * @param characterSizes Unscaled {width, height} of every character
+     * @param playerCharacterIndex The character played by the player, which enemies never use
+     * @param maxEnemies Most enemies alive at once; waves wait for room beyond it
+     */
+    public WaveSpawner(EntityRegistry registry, EntityFactory entityFactory, EnemyAI enemyAI,
+                       BulletPatternLibrary patterns, RandomXS128 random, float[][] characterSizes,
+                       int playerCharacterIndex, int maxEnemies) {
+        this.registry = registry;
+        this.entityFactory = entityFactory;
+        this.enemyAI = enemyAI;
+        this.patterns = patterns;
+        this.random = random;
+        this.characterSizes = characterSizes;
+        this.maxEnemies = maxEnemies;
+
+        this.enemyCharacters = new IntArray(characterSizes.length);
+        for (int i = 0; i < characterSizes.length; i++) {
+            if (i != playerCharacterIndex) {
+                enemyCharacters.add(i);
+            }
+        }
+
+        this.spawnCount = 0;
+        this.wave = 0;
+        this.waveTimer = GameConfig.FIRST_WAVE_DELAY;
+        this.pendingSpawns = 0;
+        this.spawnTimer = 0f;
+    }
+
+    /**
+     * Spawns an enemy at a given position, drawn as the next enemy character and firing the
+     * next pattern of the rotation.
+     *
+     * @param x The x coordinate of the unscaled bottom-left corner
+     * @param y The y coordinate of the unscaled bottom-left corner
+     * @return The enemy entity
+     */
+    public int spawn(float x, float y) {
+        int character = enemyCharacters.get(spawnCount % enemyCharacters.size);
+        int enemy = entityFactory.createEnemy(character, characterSizes[character][0], characterSizes[character][1],
+                                              x, y, patterns.getEnemyPattern(spawnCount));
+        enemyAI.initializeEnemy(registry.getChunk(enemy), registry.getSlot(enemy), random.nextLong());
+        spawnCount++;
+        return enemy;
+    }
+
+    /**
+     * Advances the wave timers and spawns the enemies that came due.
+     *
+     * @param enemies Query over the enemies, used to cap how many are alive
+     * @param delta Duration of the tick in seconds
+     */
+    public void update(Query enemies, float delta) {
+        waveTimer -= delta;
+        if (waveTimer <= 0) {
+            wave++;
+            pendingSpawns += GameConfig.FIRST_WAVE_SIZE + (wave - 1) * GameConfig.WAVE_SIZE_GROWTH;
+            waveTimer += GameConfig.WAVE_INTERVAL;
+        }
+
+        spawnTimer -= delta;
+        while (pendingSpawns > 0 && spawnTimer <= 0) {
+            if (enemies.size() >= maxEnemies) {
+                // Wait for room instead of piling up a backlog
+                spawnTimer = 0f;
+                return;
+            }
+            spawnAtRandom();
+            pendingSpawns--;
+            spawnTimer += GameConfig.WAVE_SPAWN_INTERVAL;
+        }
+    }
+
+    /**
+     * Spawns an enemy at a random point of the right half of the world, away from the
+     * player's starting corner.
+     */
+    private void spawnAtRandom() {
+        int character = enemyCharacters.get(spawnCount % enemyCharacters.size);
+        float width = characterSizes[character][0] * GameConfig.SPRITE_SCALE;
+        float height = characterSizes[character][1] * GameConfig.SPRITE_SCALE;
+        float minX = GameConfig.WORLD_WIDTH / 2;
+        float x = minX + random.nextFloat() * Math.max(0f, GameConfig.WORLD_WIDTH - width - minX);
+        float y = random.nextFloat() * Math.max(0f, GameConfig.WORLD_HEIGHT - height);
+        spawn(x, y);
+    }
+
+    /**
+     * Queues every enemy at zero health for destruction at the next registry flush.
+     *
+     * @param enemies Query over the enemies
+     * @return Number of enemies queued
+     */
+    public int removeDead(Query enemies) {
+        int removed = 0;
+        for (int c = 0; c < enemies.chunkCount(); c++) {
+            Chunk chunk = enemies.getChunk(c);
+            float[] health = chunk.floats(HEALTH, CURRENT);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (health[i] <= 0) {
+                    registry.destroyLater(chunk.getEntity(i));
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    // Getters
+    public int getWave() {
+        return wave;
+    }
+
+    public int getSpawnCount() {
+        return spawnCount;
+    }
+}
@@ -0,0 +1,203 @@
+package ro.experimentation.stef.ui;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.Query;
+import ro.experimentation.stef.weapons.ProjectileType;
+
+import static ro.experimentation.stef.world.Components.*;
+
+/**
+ * Draws lasers as untextured, solid-colored quads straight from their component columns.
+ * <p>
+ * Every laser is an axis-aligned rectangle in one color, so SpriteBatch's per-sprite work
+ * (texture coordinates, origin, scale and rotation) is wasted on them. This renderer writes
+ * only a position and a packed color per vertex into one large vertex array, uploads it
+ * once and draws it with a single call, splitting only when the lasers outnumber
+ * {@link GameConfig#PROJECTILE_RENDERER_MAX_QUADS}. The index buffer never changes, so it
+ * is filled once up front.
+ * <p>
+ * The shader only uses GLSL ES 1.00 and the mesh only GL20 calls, so it runs unchanged on
+ * the ANGLE GLES 2.0 context the desktop launcher requests.
+ */
+public class ProjectileRenderer {
+    // x, y and packed color
+    private static final int VERTEX_SIZE = 3;
+    private static final int QUAD_SIZE = 4 * VERTEX_SIZE;
+
+    private static final String VERTEX_SHADER =
+        "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+        + "uniform mat4 u_projTrans;\n"
+        + "varying vec4 v_color;\n"
+        + "void main() {\n"
+        + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+        // Packed colors lose one bit of alpha, same correction as SpriteBatch
+        + "    v_color.a = v_color.a * (255.0 / 254.0);\n"
+        + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n"
+        + "precision mediump float;\n"
+        + "#endif\n"
+        + "varying vec4 v_color;\n"
+        + "void main() {\n"
+        + "    gl_FragColor = v_color;\n"
+        + "}\n";
+
+    private final Mesh mesh;
+    private final ShaderProgram shader;
+    private final float[] vertices;
+    private final int maxQuads;
+    private int quadCount;
+
+    // Laser color per ProjectileType id, packed as vertex colors
+    private final float[] laserColors;
+
+    private int renderCalls;
+
+    /**
+     * Creates a new ProjectileRenderer.
+     *
+     * @param maxQuads Lasers drawn per call, at most {@link GameConfig#PROJECTILE_RENDERER_MAX_QUADS}
+     */
+    public ProjectileRenderer(int maxQuads) {
+        if (maxQuads <= 0 || maxQuads > GameConfig.PROJECTILE_RENDERER_MAX_QUADS) {
+            throw new IllegalArgumentException("maxQuads must be from 1 to "
+                                               + GameConfig.PROJECTILE_RENDERER_MAX_QUADS + ": " + maxQuads);
+        }
+        this.maxQuads = maxQuads;
+        this.mesh = new Mesh(false, maxQuads * 4, maxQuads * 6,
+                             new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                             VertexAttribute.ColorPacked());
+        this.vertices = new float[maxQuads * QUAD_SIZE];
+
+        short[] indices = new short[maxQuads * 6];
+        for (int quad = 0, i = 0; i < indices.length; i += 6, quad += 4) {
+            indices[i] = (short) quad;
+            indices[i + 1] = (short) (quad + 1);
+            indices[i + 2] = (short) (quad + 2);
+            indices[i + 3] = (short) (quad + 2);
+            indices[i + 4] = (short) (quad + 3);
+            indices[i + 5] = (short) quad;
+        }
+        mesh.setIndices(indices);
+
+        this.shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new IllegalArgumentException("Error compiling shader: " + shader.getLog());
+        }
+
+        this.laserColors = new float[ProjectileType.count()];
+        for (ProjectileType type : ProjectileType.values()) {
+            laserColors[type.getId()] = type.getColor().toFloatBits();
+        }
+    }
+
+    /**
+     * Draws every laser matched by a query that lies in view, interpolated between its last
+     * two positions. Lasers outside the view are skipped before any vertex is written.
+     *
+     * @param lasers Query over LASER, POSITION, PREVIOUS_POSITION and SIZE
+     * @param alpha Fraction of a tick elapsed since the last simulation step
+     * @param projection The camera's combined matrix
+     * @param view World-space area the camera shows
+     */
+    public void render(Query lasers, float alpha, Matrix4 projection, Rectangle view) {
+        renderCalls = 0;
+        if (lasers.size() == 0) {
+            return;
+        }
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+
+        float[] vertices = this.vertices;
+        float viewLeft = view.x;
+        float viewBottom = view.y;
+        float viewRight = view.x + view.width;
+        float viewTop = view.y + view.height;
+        for (int c = 0; c < lasers.chunkCount(); c++) {
+            Chunk chunk = lasers.getChunk(c);
+            float[] x = chunk.floats(POSITION, X);
+            float[] y = chunk.floats(POSITION, Y);
+            float[] previousX = chunk.floats(PREVIOUS_POSITION, X);
+            float[] previousY = chunk.floats(PREVIOUS_POSITION, Y);
+            int[] type = chunk.ints(LASER, LASER_TYPE);
+            float[] width = chunk.floats(SIZE, WIDTH);
+            float[] height = chunk.floats(SIZE, HEIGHT);
+
+            for (int i = 0; i < chunk.size(); i++) {
+                float left = MathUtils.lerp(previousX[i], x[i], alpha);
+                float bottom = MathUtils.lerp(previousY[i], y[i], alpha);
+                float right = left + width[i];
+                float top = bottom + height[i];
+                if (right <= viewLeft || left >= viewRight || top <= viewBottom || bottom >= viewTop) {
+                    continue;
+                }
+                if (quadCount == maxQuads) {
+                    flush();
+                }
+                float color = laserColors[type[i]];
+
+                int v = quadCount++ * QUAD_SIZE;
+                vertices[v] = left;
+                vertices[v + 1] = bottom;
+                vertices[v + 2] = color;
+                vertices[v + 3] = left;
+                vertices[v + 4] = top;
+                vertices[v + 5] = color;
+                vertices[v + 6] = right;
+                vertices[v + 7] = top;
+                vertices[v + 8] = color;
+                vertices[v + 9] = right;
+                vertices[v + 10] = bottom;
+                vertices[v + 11] = color;
+            }
+        }
+        flush();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    /**
+     * Uploads the quads written so far and draws them.
+     */
+    private void flush() {
+        if (quadCount == 0) {
+            return;
+        }
+        mesh.setVertices(vertices, 0, quadCount * QUAD_SIZE);
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, quadCount * 6);
+        quadCount = 0;
+        renderCalls++;
+    }
+
+    /**
+     * Gets the number of draw calls issued by the last {@link #render(Query, float, Matrix4, Rectangle)}.
+     *
+     * @return Draw call count
+     */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    /**
+     * Releases the mesh and shader.
+     */
+    public void dispose() {
+        mesh.dispose();
+        shader.dispose();
+    }
+}
@@ -4,58 +4,156 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Align;
 import ro.experimentation.stef.config.GameConfig;
-import ro.experimentation.stef.entities.Character;
+import ro.experimentation.stef.systems.PerformanceMonitor;
 
 /**
  * Handles rendering of UI elements like health bars and text.
+ * Everything is drawn through the caller's SpriteBatch: health bars are the white atlas
+ * region tinted, and text uses the font whose glyphs live in the same atlas, so a whole
+ * HUD costs one draw call and no pipeline switch. Numbers are formatted into a reused
+ * StringBuilder rather than through String concatenation, so drawing allocates nothing.
  */
 public class UIRenderer {
-    private final ShapeRenderer shapeRenderer;
+    private static final float HEALTH_BACKGROUND_COLOR = Color.RED.toFloatBits();
+    private static final float HEALTH_FOREGROUND_COLOR = Color.GREEN.toFloatBits();
+    private static final float HUD_MARGIN = 20f;
+
+    private final TextureRegion whiteRegion;
     private final BitmapFont font;
     private final GlyphLayout glyphLayout;
     
+    // Reused for every overlay cell and HUD line so drawing text does not allocate
+    private final StringBuilder overlayText;
+    
     /**
      * Creates a new UIRenderer.
+     *
+     * @param whiteRegion Solid white region, tinted to draw health bars
+     * @param font Font to draw text with; owned by the caller
      */
-    public UIRenderer() {
-        this.shapeRenderer = new ShapeRenderer();
-        this.font = new BitmapFont();
+    public UIRenderer(TextureRegion whiteRegion, BitmapFont font) {
+        this.whiteRegion = whiteRegion;
+        this.font = font;
         this.font.getData().setScale(GameConfig.DEFAULT_FONT_SCALE);
         this.font.setColor(Color.WHITE);
         this.glyphLayout = new GlyphLayout();
+        this.overlayText = new StringBuilder(32);
     }
     
     /**
-     * Draws a health bar above a character.
+     * Draws a health bar above a character. Must be called between batch begin and end.
      *
-     * @param character The character to draw health bar for
+     * @param batch The SpriteBatch to use
+     * @param x The x coordinate of the character's unscaled bottom-left corner
+     * @param y The y coordinate of the character's unscaled bottom-left corner
+     * @param scaledWidth The character's scaled width
+     * @param scaledHeight The character's scaled height
+     * @param health The character's current health
+     * @param maxHealth The character's maximum health
      */
-    public void drawHealthBar(Character character) {
-        if (!character.isAlive()) {
-            return;
-        }
-        
+    public void drawHealthBar(SpriteBatch batch, float x, float y, float scaledWidth, float scaledHeight,
+                              float health, float maxHealth) {
         // Calculate health bar position above the character's head
-        float barX = character.getX() + 
-                    (character.getSprite().getWidth() * character.getSprite().getScaleX() / 2) - 
-                    (GameConfig.HEALTH_BAR_WIDTH / 2);
-        float barY = character.getY() + 
-                    (character.getSprite().getHeight() * character.getSprite().getScaleY()) + 10;
+        float barX = healthBarX(x, scaledWidth);
+        float barY = healthBarY(y, scaledHeight);
+        float previousColor = batch.getPackedColor();
         
         // Draw background (red) for max health
-        shapeRenderer.setColor(Color.RED);
-        shapeRenderer.rect(barX, barY, GameConfig.HEALTH_BAR_WIDTH, GameConfig.HEALTH_BAR_HEIGHT);
+        batch.setPackedColor(HEALTH_BACKGROUND_COLOR);
+        batch.draw(whiteRegion, barX, barY, GameConfig.HEALTH_BAR_WIDTH, GameConfig.HEALTH_BAR_HEIGHT);
         
         // Draw foreground (green) for current health
-        float maxHealth = character.getMaxHealth();
         if (maxHealth > 0) {
-            float healthPercentage = character.getHealth() / maxHealth;
-            shapeRenderer.setColor(Color.GREEN);
-            shapeRenderer.rect(barX, barY, 
-                             GameConfig.HEALTH_BAR_WIDTH * healthPercentage, 
-                             GameConfig.HEALTH_BAR_HEIGHT);
+            float healthPercentage = health / maxHealth;
+            batch.setPackedColor(HEALTH_FOREGROUND_COLOR);
+            batch.draw(whiteRegion, barX, barY,
+                       GameConfig.HEALTH_BAR_WIDTH * healthPercentage,
+                       GameConfig.HEALTH_BAR_HEIGHT);
+        }
+        batch.setPackedColor(previousColor);
+    }
+    
+    /**
+     * Gets the x coordinate of the health bar drawn above a character.
+     *
+     * @param x The x coordinate of the character's unscaled bottom-left corner
+     * @param scaledWidth The character's scaled width
+     * @return The bar's left edge
+     */
+    public static float healthBarX(float x, float scaledWidth) {
+        return x + (scaledWidth / 2) - (GameConfig.HEALTH_BAR_WIDTH / 2);
+    }
+    
+    /**
+     * Gets the y coordinate of the health bar drawn above a character.
+     *
+     * @param y The y coordinate of the character's unscaled bottom-left corner
+     * @param scaledHeight The character's scaled height
+     * @return The bar's bottom edge
+     */
+    public static float healthBarY(float y, float scaledHeight) {
+        return y + scaledHeight + 10;
+    }
+    
+    /**
+     * Draws the player's status in the top right corner: health, score and the remaining
+     * cooldown of each ability. Must be called between batch begin and end.
+     *
+     * @param batch The SpriteBatch to use
+     * @param health The player's current health
+     * @param maxHealth The player's maximum health
+     * @param score The player's score
+     * @param cooldownA Seconds until ability A is ready, or 0 or less if it is
+     * @param cooldownS Seconds until ability S is ready, or 0 or less if it is
+     * @param cooldownD Seconds until ability D is ready, or 0 or less if it is
+     */
+    public void drawPlayerStatus(SpriteBatch batch, float health, float maxHealth, int score,
+                                 float cooldownA, float cooldownS, float cooldownD) {
+        float originalScale = font.getData().scaleX;
+        font.getData().setScale(GameConfig.HUD_FONT_SCALE);
+
+        float lineHeight = font.getLineHeight();
+        float right = GameConfig.SCREEN_WIDTH - HUD_MARGIN;
+        float y = GameConfig.SCREEN_HEIGHT - HUD_MARGIN;
+
+        overlayText.setLength(0);
+        overlayText.append("HP ").append(MathUtils.ceil(health)).append(" / ").append(MathUtils.ceil(maxHealth));
+        font.draw(batch, overlayText, right, y, 0f, Align.right, false);
+        y -= lineHeight;
+
+        overlayText.setLength(0);
+        overlayText.append("Score ").append(score);
+        font.draw(batch, overlayText, right, y, 0f, Align.right, false);
+        y -= lineHeight;
+
+        overlayText.setLength(0);
+        appendCooldown(overlayText, 'A', cooldownA);
+        overlayText.append("   ");
+        appendCooldown(overlayText, 'S', cooldownS);
+        overlayText.append("   ");
+        appendCooldown(overlayText, 'D', cooldownD);
+        font.draw(batch, overlayText, right, y, 0f, Align.right, false);
+
+        font.getData().setScale(originalScale);
+    }
+    
+    /**
+     * Appends an ability's key followed by its remaining cooldown, or "ready".
+     *
+     * @param text The builder to append to
+     * @param key The ability's key
+     * @param cooldown Seconds until the ability is ready
+     */
+    private static void appendCooldown(StringBuilder text, char key, float cooldown) {
+        text.append(key).append(' ');
+        if (cooldown <= 0) {
+            text.append("ready");
+        } else {
+            appendFixed(text, cooldown);
         }
     }
     
@@ -89,26 +187,70 @@ public class UIRenderer {
     }
     
     /**
-     * Begins shape rendering.
-     */
-    public void beginShapes() {
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-    }
-    
-    /**
-     * Ends shape rendering.
+     * Draws the performance overlay in the top left corner: one row per metric with its
+     * rolling percentiles. Must be called between batch begin and end.
+     *
+     * @param batch The SpriteBatch to use
+     * @param monitor The monitor whose percentiles to show
      */
-    public void endShapes() {
-        shapeRenderer.end();
+    public void drawPerformanceOverlay(SpriteBatch batch, PerformanceMonitor monitor) {
+        float originalScale = font.getData().scaleX;
+        font.getData().setScale(GameConfig.PERFORMANCE_FONT_SCALE);
+        font.setColor(Color.YELLOW);
+
+        float lineHeight = font.getLineHeight();
+        float labelX = 20f;
+        float firstValueX = labelX + 280f;
+        float columnWidth = 120f;
+        float y = GameConfig.SCREEN_HEIGHT - 20f;
+
+        // Header
+        for (int p = 0; p < PerformanceMonitor.PERCENTILES.length; p++) {
+            overlayText.setLength(0);
+            overlayText.append('p').append(Math.round(PerformanceMonitor.PERCENTILES[p] * 100));
+            font.draw(batch, overlayText, firstValueX + p * columnWidth, y);
+        }
+        y -= lineHeight;
+
+        for (int m = 0; m < PerformanceMonitor.Metric.count(); m++) {
+            PerformanceMonitor.Metric metric = PerformanceMonitor.Metric.fromId(m);
+            overlayText.setLength(0);
+            overlayText.append(metric.getLabel());
+            if (!metric.getUnit().isEmpty()) {
+                overlayText.append(" (").append(metric.getUnit()).append(')');
+            }
+            font.draw(batch, overlayText, labelX, y);
+
+            for (int p = 0; p < PerformanceMonitor.PERCENTILES.length; p++) {
+                overlayText.setLength(0);
+                appendFixed(overlayText, monitor.getPercentile(metric, p));
+                font.draw(batch, overlayText, firstValueX + p * columnWidth, y);
+            }
+            y -= lineHeight;
+        }
+
+        font.setColor(Color.WHITE);
+        font.getData().setScale(originalScale);
     }
-    
+
     /**
-     * Sets the projection matrix for the shape renderer.
+     * Appends a value with two decimals without going through Float.toString.
      *
-     * @param projectionMatrix The projection matrix
+     * @param text The builder to append to
+     * @param value The value
      */
-    public void setShapeProjectionMatrix(com.badlogic.gdx.math.Matrix4 projectionMatrix) {
-        shapeRenderer.setProjectionMatrix(projectionMatrix);
+    private static void appendFixed(StringBuilder text, float value) {
+        if (value < 0) {
+            text.append('-');
+            value = -value;
+        }
+        int hundredths = Math.round(value * 100);
+        text.append(hundredths / 100).append('.');
+        int fraction = hundredths % 100;
+        if (fraction < 10) {
+            text.append('0');
+        }
+        text.append(fraction);
     }
     
     /**
@@ -129,15 +271,4 @@ public class UIRenderer {
         return font;
     }
     
-    /**
-     * Disposes UI resources.
-     */
-    public void dispose() {
-        if (shapeRenderer != null) {
-            shapeRenderer.dispose();
-        }
-        if (font != null) {
-            font.dispose();
-        }
-    }
 }
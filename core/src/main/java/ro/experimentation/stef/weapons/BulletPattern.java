@@ -0,0 +1,281 @@
+package ro.experimentation.stef.weapons;
+
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+
+/**
+ * A bullet pattern compiled from data: one or more emitters, each firing a fixed shape of
+ * shots one or more times on a timeline that starts when the pattern is fired.
+ * <p>
+ * Every emitter's shape is turned into a table of shot velocities for a pattern facing
+ * along +x when it is compiled, and the rotation of each of its bursts into a second table.
+ * Firing a burst combines the burst's rotation with the aim once, then rotates the whole
+ * velocity table into a {@link ProjectileBuffer} in one batched call, so no shot costs any
+ * trigonometry or a method call of its own.
+ * <p>
+ * A pattern holds no running state. Callers keep the time since they fired it and pass
+ * each tick's time window to {@link #emit}; every burst due inside the window is emitted
+ * exactly once, so the shots only depend on the tick boundaries and stay deterministic.
+ */
+public class BulletPattern {
+    private final String name;
+    private final Emitter[] emitters;
+    private final float duration;
+
+    /**
+     * Creates a pattern from compiled emitters.
+     *
+     * @param name Name the pattern is looked up by
+     * @param emitters The pattern's emitters
+     */
+    BulletPattern(String name, Emitter[] emitters) {
+        this.name = name;
+        this.emitters = emitters;
+        float lastBurst = 0f;
+        for (Emitter emitter : emitters) {
+            lastBurst = Math.max(lastBurst, emitter.getLastBurstTime());
+        }
+        this.duration = lastBurst;
+    }
+
+    /**
+     * Compiles a pattern from its JSON description.
+     *
+     * @param json Object with a "name" and an "emitters" array
+     * @return The compiled pattern
+     * @throws SerializationException If the description is incomplete or invalid
+     */
+    static BulletPattern fromJson(JsonValue json) {
+        String name = json.getString("name", null);
+        if (name == null) {
+            throw new SerializationException("Bullet pattern without a name");
+        }
+        JsonValue emitterList = json.get("emitters");
+        if (emitterList == null || emitterList.size == 0) {
+            throw new SerializationException("Bullet pattern '" + name + "' has no emitters");
+        }
+        Emitter[] emitters = new Emitter[emitterList.size];
+        int i = 0;
+        for (JsonValue emitter = emitterList.child; emitter != null; emitter = emitter.next) {
+            emitters[i++] = Emitter.fromJson(name, emitter);
+        }
+        return new BulletPattern(name, emitters);
+    }
+
+    /**
+     * Emits the bursts scheduled at the moment the pattern is fired.
+     *
+     * @param x The x coordinate the shots start at
+     * @param y The y coordinate the shots start at
+     * @param targetX The x coordinate aimed emitters aim at
+     * @param targetY The y coordinate aimed emitters aim at
+     * @param projectiles Buffer receiving the shots
+     */
+    public void start(float x, float y, float targetX, float targetY, ProjectileBuffer projectiles) {
+        emit(-1f, 0f, x, y, targetX, targetY, projectiles);
+    }
+
+    /**
+     * Emits every burst scheduled after {@code from} and up to and including {@code to}
+     * seconds since the pattern was fired. Aimed bursts aim at the target as it is now.
+     *
+     * @param from Pattern time at the end of the previous window
+     * @param to Pattern time at the end of this window
+     * @param x The x coordinate the shots start at
+     * @param y The y coordinate the shots start at
+     * @param targetX The x coordinate aimed emitters aim at
+     * @param targetY The y coordinate aimed emitters aim at
+     * @param projectiles Buffer receiving the shots
+     */
+    public void emit(float from, float to, float x, float y, float targetX, float targetY,
+                     ProjectileBuffer projectiles) {
+        float aimX = targetX - x;
+        float aimY = targetY - y;
+        float length = (float) Math.sqrt(aimX * aimX + aimY * aimY);
+        if (length != 0) {
+            aimX /= length;
+            aimY /= length;
+        }
+        for (Emitter emitter : emitters) {
+            emitter.emit(from, to, x, y, aimX, aimY, projectiles);
+        }
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the time of the pattern's last burst; once a caller's pattern time reaches it,
+     * the pattern is done.
+     *
+     * @return Duration in seconds
+     */
+    public float getDuration() {
+        return duration;
+    }
+
+    /**
+     * One shape of shots fired on its own timeline within a pattern.
+     * <p>
+     * Shapes: "ring" spaces shots evenly around a full circle, "spread" fans them evenly
+     * over an arc, and "wave" is a spread whose shot speeds follow a sine across the fan.
+     * A spiral is any shape with a "spin" turning each burst further than the one before,
+     * and timed sub-emitters are further emitters with their own "delay".
+     */
+    static final class Emitter {
+        private final ProjectileType type;
+        private final boolean aimed;
+        private final float delay;
+        private final float interval;
+        private final int repeat;
+
+        // Shot velocities for a burst facing along +x
+        private final float[] velocityX;
+        private final float[] velocityY;
+
+        // Rotation of each burst as a unit vector
+        private final float[] burstCos;
+        private final float[] burstSin;
+
+        /**
+         * Compiles an emitter.
+         *
+         * @param type The laser kind fired
+         * @param directions Angle of every shot in degrees, relative to the burst's facing
+         * @param speeds Speed of every shot in pixels per second
+         * @param aimed Whether bursts face the target rather than +x
+         * @param delay Seconds from firing the pattern to the first burst
+         * @param repeat Number of bursts
+         * @param interval Seconds between bursts
+         * @param spin Degrees each burst is turned further than the previous one
+         */
+        Emitter(ProjectileType type, float[] directions, float[] speeds, boolean aimed,
+                float delay, int repeat, float interval, float spin) {
+            this.type = type;
+            this.aimed = aimed;
+            this.delay = delay;
+            this.interval = interval;
+            this.repeat = repeat;
+
+            this.velocityX = new float[directions.length];
+            this.velocityY = new float[directions.length];
+            for (int i = 0; i < directions.length; i++) {
+                double angle = Math.toRadians(directions[i]);
+                velocityX[i] = (float) (Math.cos(angle) * speeds[i]);
+                velocityY[i] = (float) (Math.sin(angle) * speeds[i]);
+            }
+
+            this.burstCos = new float[repeat];
+            this.burstSin = new float[repeat];
+            for (int k = 0; k < repeat; k++) {
+                double angle = Math.toRadians(spin * k);
+                burstCos[k] = (float) Math.cos(angle);
+                burstSin[k] = (float) Math.sin(angle);
+            }
+        }
+
+        /**
+         * Compiles an emitter from its JSON description.
+         *
+         * @param patternName Name of the pattern, for error messages
+         * @param json Object describing the emitter
+         * @return The compiled emitter
+         * @throws SerializationException If the description is invalid
+         */
+        static Emitter fromJson(String patternName, JsonValue json) {
+            String shape = json.getString("shape", "spread");
+            int count = json.getInt("count", 1);
+            float arc = json.getFloat("arc", 0f);
+            float angle = json.getFloat("angle", 0f);
+            float speed = json.getFloat("speed", 0f);
+            int repeat = json.getInt("repeat", 1);
+            float interval = json.getFloat("interval", 0f);
+            float delay = json.getFloat("delay", 0f);
+            if (count < 1 || repeat < 1 || speed <= 0 || interval < 0 || delay < 0) {
+                throw new SerializationException("Bullet pattern '" + patternName + "': count, repeat and speed"
+                                                 + " must be positive, delay and interval not negative");
+            }
+
+            String projectile = json.getString("projectile", null);
+            ProjectileType type;
+            try {
+                type = ProjectileType.valueOf(String.valueOf(projectile));
+            } catch (IllegalArgumentException e) {
+                throw new SerializationException("Bullet pattern '" + patternName + "': unknown projectile "
+                                                 + projectile, e);
+            }
+
+            float[] directions = new float[count];
+            float[] speeds = new float[count];
+            switch (shape) {
+                case "ring":
+                    for (int i = 0; i < count; i++) {
+                        directions[i] = angle + 360f * i / count;
+                        speeds[i] = speed;
+                    }
+                    break;
+                case "spread":
+                case "wave":
+                    float step = count > 1 ? arc / (count - 1) : 0f;
+                    float start = count > 1 ? angle - arc / 2 : angle;
+                    float amplitude = json.getFloat("amplitude", 0f);
+                    float cycles = json.getFloat("cycles", 1f);
+                    for (int i = 0; i < count; i++) {
+                        directions[i] = start + step * i;
+                        speeds[i] = shape.equals("wave")
+                            ? speed * (1f + amplitude * (float) Math.sin(Math.PI * 2 * cycles * i / count))
+                            : speed;
+                    }
+                    break;
+                default:
+                    throw new SerializationException("Bullet pattern '" + patternName + "': unknown shape " + shape);
+            }
+
+            return new Emitter(type, directions, speeds, json.getBoolean("aimed", false),
+                               delay, repeat, interval, json.getFloat("spin", 0f));
+        }
+
+        /**
+         * Emits the bursts due in a window of pattern time.
+         *
+         * @param from Pattern time at the end of the previous window
+         * @param to Pattern time at the end of this window
+         * @param x The x coordinate the shots start at
+         * @param y The y coordinate the shots start at
+         * @param aimX The x component of the unit vector towards the target
+         * @param aimY The y component of the unit vector towards the target
+         * @param projectiles Buffer receiving the shots
+         */
+        void emit(float from, float to, float x, float y, float aimX, float aimY, ProjectileBuffer projectiles) {
+            // Skip straight to the first burst that can be due
+            int k = 0;
+            if (interval > 0 && from > delay) {
+                k = Math.min(repeat, (int) ((from - delay) / interval));
+            }
+            for (; k < repeat; k++) {
+                float time = delay + k * interval;
+                if (time > to) {
+                    break;
+                }
+                if (time <= from) {
+                    continue;
+                }
+                float cos = burstCos[k];
+                float sin = burstSin[k];
+                if (aimed) {
+                    // Turn the burst's own rotation towards the target
+                    float rotatedCos = cos * aimX - sin * aimY;
+                    sin = cos * aimY + sin * aimX;
+                    cos = rotatedCos;
+                }
+                projectiles.addBurst(type, x, y, velocityX, velocityY, velocityX.length, cos, sin);
+            }
+        }
+
+        float getLastBurstTime() {
+            return delay + (repeat - 1) * interval;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ro.experimentation.stef.weapons;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+import java.io.InputStream;
+
+/**
+ * Every bullet pattern of the game, compiled once from a JSON data file.
+ * <p>
+ * Patterns are addressed by their index in the file, which is what enemies store. The file
+ * has a "patterns" array and an optional "rotation" listing, by name, the patterns handed
+ * to newly spawned enemies in turn; without it every pattern takes its turn in file order.
+ * Loading only reads a stream, so the world and the benchmarks can use it without Gdx.files.
+ */
+public class BulletPatternLibrary {
+    private final Array<BulletPattern> patterns;
+    private final IntArray rotation;
+
+    private BulletPatternLibrary(Array<BulletPattern> patterns, IntArray rotation) {
+        this.patterns = patterns;
+        this.rotation = rotation;
+    }
+
+    /**
+     * Reads and compiles a pattern file.
+     *
+     * @param stream Stream holding the JSON file; closed when done
+     * @return The compiled patterns
+     * @throws SerializationException If the file is not valid JSON or describes an invalid pattern
+     */
+    public static BulletPatternLibrary load(InputStream stream) {
+        JsonValue root = new JsonReader().parse(stream);
+
+        JsonValue patternList = root.get("patterns");
+        if (patternList == null || patternList.size == 0) {
+            throw new SerializationException("Bullet pattern file has no patterns");
+        }
+        Array<BulletPattern> patterns = new Array<>(true, patternList.size, BulletPattern[]::new);
+        for (JsonValue pattern = patternList.child; pattern != null; pattern = pattern.next) {
+            patterns.add(BulletPattern.fromJson(pattern));
+        }
+        BulletPatternLibrary library = new BulletPatternLibrary(patterns, new IntArray(patterns.size));
+
+        JsonValue rotationList = root.get("rotation");
+        if (rotationList == null) {
+            for (int i = 0; i < patterns.size; i++) {
+                library.rotation.add(i);
+            }
+        } else {
+            for (JsonValue name = rotationList.child; name != null; name = name.next) {
+                int id = library.indexOf(name.asString());
+                if (id < 0) {
+                    throw new SerializationException("Rotation names an unknown bullet pattern: " + name.asString());
+                }
+                library.rotation.add(id);
+            }
+        }
+        if (library.rotation.size == 0) {
+            throw new SerializationException("Bullet pattern rotation is empty");
+        }
+        return library;
+    }
+
+    /**
+     * Finds a pattern's id by name.
+     *
+     * @param name The pattern's name
+     * @return The pattern id, or -1 if there is no such pattern
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < patterns.size; i++) {
+            if (patterns.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the pattern handed to the n-th spawned enemy.
+     *
+     * @param enemyIndex Spawn order of the enemy, from 0
+     * @return The pattern id
+     */
+    public int getEnemyPattern(int enemyIndex) {
+        return rotation.get(enemyIndex % rotation.size);
+    }
+
+    // Getters
+    public BulletPattern get(int id) {
+        return patterns.get(id);
+    }
+
+    public int size() {
+        return patterns.size;
+    }
+}
@@ -0,0 +1,154 @@
+package ro.experimentation.stef.weapons;
+
+import java.util.Arrays;
+
+/**
+ * Projectiles requested during a tick, waiting to become entities.
+ * Systems that fire while iterating a query write here instead of creating entities
+ * mid-iteration, and workers each fill their own buffer, so firing never touches shared
+ * state. The world turns the buffered shots into lasers in one pass per tick.
+ */
+public class ProjectileBuffer {
+    private byte[] type;
+    private float[] x;
+    private float[] y;
+    private float[] velocityX;
+    private float[] velocityY;
+    private int size;
+    private int growCount;
+
+    /**
+     * Creates a new projectile buffer.
+     *
+     * @param initialCapacity Number of projectiles the buffer can hold before growing
+     */
+    public ProjectileBuffer(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.type = new byte[capacity];
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.size = 0;
+        this.growCount = 0;
+    }
+
+    /**
+     * Adds a projectile.
+     *
+     * @param projectileType The laser kind
+     * @param posX The x coordinate of the bottom-left corner
+     * @param posY The y coordinate of the bottom-left corner
+     * @param velX The x velocity in pixels per second
+     * @param velY The y velocity in pixels per second
+     */
+    public void add(ProjectileType projectileType, float posX, float posY, float velX, float velY) {
+        if (size == x.length) {
+            grow();
+        }
+        type[size] = projectileType.getId();
+        x[size] = posX;
+        y[size] = posY;
+        velocityX[size] = velX;
+        velocityY[size] = velY;
+        size++;
+    }
+
+    /**
+     * Adds a burst of projectiles sharing a kind and start point, rotating a table of
+     * velocities by one angle given as its cosine and sine.
+     * Capacity is reserved once for the whole burst.
+     *
+     * @param projectileType The laser kind
+     * @param posX The x coordinate of the bottom-left corner
+     * @param posY The y coordinate of the bottom-left corner
+     * @param velX Unrotated x velocities in pixels per second
+     * @param velY Unrotated y velocities in pixels per second
+     * @param count Number of projectiles, taken from the start of the velocity tables
+     * @param cos Cosine of the rotation
+     * @param sin Sine of the rotation
+     */
+    public void addBurst(ProjectileType projectileType, float posX, float posY, float[] velX, float[] velY,
+                         int count, float cos, float sin) {
+        while (size + count > x.length) {
+            grow();
+        }
+        byte id = projectileType.getId();
+        Arrays.fill(type, size, size + count, id);
+        Arrays.fill(x, size, size + count, posX);
+        Arrays.fill(y, size, size + count, posY);
+        for (int i = 0; i < count; i++) {
+            velocityX[size + i] = velX[i] * cos - velY[i] * sin;
+            velocityY[size + i] = velX[i] * sin + velY[i] * cos;
+        }
+        size += count;
+    }
+
+    /**
+     * Appends every projectile of another buffer, in order.
+     * Used to merge buffers filled on worker threads.
+     *
+     * @param source The buffer to copy from
+     */
+    public void addAll(ProjectileBuffer source) {
+        for (int i = 0; i < source.size; i++) {
+            add(ProjectileType.fromId(source.type[i]), source.x[i], source.y[i],
+                source.velocityX[i], source.velocityY[i]);
+        }
+    }
+
+    /**
+     * Removes all projectiles.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    private void grow() {
+        int capacity = x.length * 2;
+        type = Arrays.copyOf(type, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        velocityX = Arrays.copyOf(velocityX, capacity);
+        velocityY = Arrays.copyOf(velocityY, capacity);
+        growCount++;
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return x.length;
+    }
+
+    /**
+     * Gets the number of times the buffer ran out of room and had to grow.
+     *
+     * @return Growths since creation
+     */
+    public int getGrowCount() {
+        return growCount;
+    }
+
+    public ProjectileType getType(int index) {
+        return ProjectileType.fromId(type[index]);
+    }
+
+    public float getX(int index) {
+        return x[index];
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    public float getVelocityX(int index) {
+        return velocityX[index];
+    }
+
+    public float getVelocityY(int index) {
+        return velocityY[index];
+    }
+}
@@ -0,0 +1,64 @@
+package ro.experimentation.stef.weapons;
+
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * The seven laser kinds used by the game.
+ * The ordinal doubles as the type id stored in lasers and {@link ProjectileBuffer}.
+ */
+public enum ProjectileType {
+    RED_LASER(40, 5, Color.RED),
+    BLUE_LASER(40, 5, Color.BLUE),
+    YELLOW_LASER(40, 5, Color.YELLOW),
+    CYAN_BEAM(150, 25, Color.CYAN),
+    GREEN_LASER(50, 8, Color.GREEN),
+    MAGENTA_LASER(35, 7, Color.MAGENTA),
+    ORANGE_LASER(200, 40, Color.ORANGE);
+
+    private static final ProjectileType[] VALUES = values();
+
+    private final int width;
+    private final int height;
+    private final Color color;
+
+    ProjectileType(int width, int height, Color color) {
+        this.width = width;
+        this.height = height;
+        this.color = color;
+    }
+
+    /**
+     * Looks up a type by its byte id without allocating.
+     *
+     * @param id The type id as stored in a laser or ProjectileBuffer
+     * @return The matching projectile type
+     */
+    public static ProjectileType fromId(byte id) {
+        return VALUES[id];
+    }
+
+    /**
+     * Gets the number of projectile types.
+     *
+     * @return The type count
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+
+    public byte getId() {
+        return (byte) ordinal();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Color getColor() {
+        return color;
+    }
+}
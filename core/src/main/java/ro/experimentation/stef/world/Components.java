@@ -0,0 +1,74 @@
+package ro.experimentation.stef.world;
+
+import ro.experimentation.stef.ecs.ComponentType;
+
+/**
+ * Component types of the game's entities, with the index of every field.
+ * Field constants are passed to {@link ro.experimentation.stef.ecs.Chunk} column accessors,
+ * e.g. {@code chunk.floats(Components.POSITION, Components.X)}.
+ */
+public final class Components {
+    // Bottom-left corner of the unscaled bounds: X, Y
+    public static final ComponentType POSITION = ComponentType.define("Position", 2, 0, 0);
+    // Position at the start of the current tick, used for render interpolation: X, Y
+    public static final ComponentType PREVIOUS_POSITION = ComponentType.define("PreviousPosition", 2, 0, 0);
+    // Pixels per second: X, Y
+    public static final ComponentType VELOCITY = ComponentType.define("Velocity", 2, 0, 0);
+    // Unscaled size and the scale applied around its center: WIDTH, HEIGHT, SCALE
+    public static final ComponentType SIZE = ComponentType.define("Size", 3, 0, 0);
+    // CURRENT, MAX; an entity whose current health reached zero is dead
+    public static final ComponentType HEALTH = ComponentType.define("Health", 2, 0, 0);
+    // CHARACTER_INDEX into GameConfig.CHARACTER_TEXTURES
+    public static final ComponentType SPRITE = ComponentType.define("Sprite", 0, 1, 0);
+    // LASER_TYPE, a ProjectileType id
+    public static final ComponentType LASER = ComponentType.define("Laser", 0, 1, 0);
+    // Remaining cooldowns: LASER_COOLDOWN, ABILITY_A_COOLDOWN, ABILITY_S_COOLDOWN, ABILITY_D_COOLDOWN
+    public static final ComponentType PLAYER_CONTROL = ComponentType.define("PlayerControl", 4, 0, 0);
+    // MOVE_TIMER, SHOOT_TIMER, PATTERN_TIME; PATTERN, DECIDE; RANDOM_STATE_0, RANDOM_STATE_1
+    public static final ComponentType ENEMY_BRAIN = ComponentType.define("EnemyBrain", 3, 2, 2);
+
+    // Teams: lasers damage entities with health on the other team
+    public static final ComponentType PLAYER_TEAM = ComponentType.tag("PlayerTeam");
+    public static final ComponentType ENEMY_TEAM = ComponentType.tag("EnemyTeam");
+
+    // POSITION, PREVIOUS_POSITION and VELOCITY fields
+    public static final int X = 0;
+    public static final int Y = 1;
+
+    // SIZE fields
+    public static final int WIDTH = 0;
+    public static final int HEIGHT = 1;
+    public static final int SCALE = 2;
+
+    // HEALTH fields
+    public static final int CURRENT = 0;
+    public static final int MAX = 1;
+
+    // SPRITE field
+    public static final int CHARACTER_INDEX = 0;
+
+    // LASER field
+    public static final int LASER_TYPE = 0;
+
+    // PLAYER_CONTROL fields
+    public static final int LASER_COOLDOWN = 0;
+    public static final int ABILITY_A_COOLDOWN = 1;
+    public static final int ABILITY_S_COOLDOWN = 2;
+    public static final int ABILITY_D_COOLDOWN = 3;
+
+    // ENEMY_BRAIN fields
+    public static final int MOVE_TIMER = 0;
+    public static final int SHOOT_TIMER = 1;
+    // Seconds since the enemy fired its bullet pattern, negative while it is not firing
+    public static final int PATTERN_TIME = 2;
+    // BulletPatternLibrary id of the enemy's pattern
+    public static final int PATTERN = 0;
+    // 1 if the AIScheduler lets the enemy act on its expired timers this tick
+    public static final int DECIDE = 1;
+    public static final int RANDOM_STATE_0 = 0;
+    public static final int RANDOM_STATE_1 = 1;
+
+    private Components() {
+        // Private constructor to prevent instantiation
+    }
+}
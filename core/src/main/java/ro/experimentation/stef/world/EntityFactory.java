@@ -0,0 +1,151 @@
+package ro.experimentation.stef.world;
+
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.ecs.Archetype;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import ro.experimentation.stef.weapons.ProjectileType;
+
+import static ro.experimentation.stef.world.Components.*;
+
+/**
+ * Assembles the game's entities from components.
+ * Each kind of entity is an archetype, so a new kind is a new component list here
+ * rather than a new class; systems pick it up through the queries it matches.
+ */
+public class EntityFactory {
+    private final EntityRegistry registry;
+    private final Archetype playerArchetype;
+    private final Archetype enemyArchetype;
+    private final Archetype playerLaserArchetype;
+    private final Archetype enemyLaserArchetype;
+
+    /**
+     * Creates a new EntityFactory.
+     *
+     * @param registry Registry the entities are created in
+     */
+    public EntityFactory(EntityRegistry registry) {
+        this.registry = registry;
+        this.playerArchetype = registry.archetype(
+            POSITION, PREVIOUS_POSITION, VELOCITY, SIZE, HEALTH, SPRITE, PLAYER_CONTROL, PLAYER_TEAM);
+        this.enemyArchetype = registry.archetype(
+            POSITION, PREVIOUS_POSITION, VELOCITY, SIZE, HEALTH, SPRITE, ENEMY_BRAIN, ENEMY_TEAM);
+        this.playerLaserArchetype = registry.archetype(
+            POSITION, PREVIOUS_POSITION, VELOCITY, SIZE, LASER, PLAYER_TEAM);
+        this.enemyLaserArchetype = registry.archetype(
+            POSITION, PREVIOUS_POSITION, VELOCITY, SIZE, LASER, ENEMY_TEAM);
+    }
+
+    /**
+     * Allocates storage ahead of the first fight, so spawning up to the given numbers of
+     * enemies and lasers does not allocate.
+     *
+     * @param enemies Enemies to make room for
+     * @param playerLasers Player lasers to make room for
+     * @param enemyLasers Enemy lasers to make room for
+     */
+    public void reserve(int enemies, int playerLasers, int enemyLasers) {
+        registry.reserve(playerArchetype, 1);
+        registry.reserve(enemyArchetype, enemies);
+        registry.reserve(playerLaserArchetype, playerLasers);
+        registry.reserve(enemyLaserArchetype, enemyLasers);
+    }
+
+    /**
+     * Creates the player character.
+     *
+     * @param characterIndex Index of the character texture used to draw the player
+     * @param width Unscaled width of the player
+     * @param height Unscaled height of the player
+     * @param x The x coordinate of the unscaled bottom-left corner
+     * @param y The y coordinate of the unscaled bottom-left corner
+     * @return The player entity
+     */
+    public int createPlayer(int characterIndex, float width, float height, float x, float y) {
+        return createCharacter(playerArchetype, characterIndex, width, height, x, y, GameConfig.PLAYER_MAX_HEALTH);
+    }
+
+    /**
+     * Creates an enemy character. Its AI state still has to be set up by
+     * {@link ro.experimentation.stef.systems.EnemyAI#initializeEnemy}.
+     *
+     * @param characterIndex Index of the character texture used to draw the enemy
+     * @param width Unscaled width of the enemy
+     * @param height Unscaled height of the enemy
+     * @param x The x coordinate of the unscaled bottom-left corner
+     * @param y The y coordinate of the unscaled bottom-left corner
+     * @param pattern Id of the bullet pattern the enemy fires
+     * @return The enemy entity
+     */
+    public int createEnemy(int characterIndex, float width, float height, float x, float y, int pattern) {
+        int enemy = createCharacter(enemyArchetype, characterIndex, width, height, x, y, GameConfig.MAX_HEALTH);
+        registry.getChunk(enemy).ints(ENEMY_BRAIN, PATTERN)[registry.getSlot(enemy)] = pattern;
+        return enemy;
+    }
+
+    /**
+     * Creates a character entity at full health.
+     */
+    private int createCharacter(Archetype archetype, int characterIndex, float width, float height,
+                                float x, float y, float maxHealth) {
+        int entity = registry.create(archetype);
+        Chunk chunk = registry.getChunk(entity);
+        int slot = registry.getSlot(entity);
+        setBody(chunk, slot, x, y, 0f, 0f, width, height, GameConfig.SPRITE_SCALE);
+        chunk.floats(HEALTH, CURRENT)[slot] = maxHealth;
+        chunk.floats(HEALTH, MAX)[slot] = maxHealth;
+        chunk.ints(SPRITE, CHARACTER_INDEX)[slot] = characterIndex;
+        return entity;
+    }
+
+    /**
+     * Creates a laser.
+     *
+     * @param playerTeam Whether the player fired the laser
+     * @param type The laser kind
+     * @param x The x coordinate of the bottom-left corner
+     * @param y The y coordinate of the bottom-left corner
+     * @param velocityX The x velocity in pixels per second
+     * @param velocityY The y velocity in pixels per second
+     * @return The laser entity
+     */
+    public int createLaser(boolean playerTeam, ProjectileType type, float x, float y,
+                           float velocityX, float velocityY) {
+        int entity = registry.create(playerTeam ? playerLaserArchetype : enemyLaserArchetype);
+        Chunk chunk = registry.getChunk(entity);
+        int slot = registry.getSlot(entity);
+        setBody(chunk, slot, x, y, velocityX, velocityY, type.getWidth(), type.getHeight(), 1f);
+        chunk.ints(LASER, LASER_TYPE)[slot] = type.getId();
+        return entity;
+    }
+
+    /**
+     * Writes the position, velocity and size of a new entity.
+     */
+    private static void setBody(Chunk chunk, int slot, float x, float y, float velocityX, float velocityY,
+                                float width, float height, float scale) {
+        chunk.floats(POSITION, X)[slot] = x;
+        chunk.floats(POSITION, Y)[slot] = y;
+        chunk.floats(PREVIOUS_POSITION, X)[slot] = x;
+        chunk.floats(PREVIOUS_POSITION, Y)[slot] = y;
+        chunk.floats(VELOCITY, X)[slot] = velocityX;
+        chunk.floats(VELOCITY, Y)[slot] = velocityY;
+        chunk.floats(SIZE, WIDTH)[slot] = width;
+        chunk.floats(SIZE, HEIGHT)[slot] = height;
+        chunk.floats(SIZE, SCALE)[slot] = scale;
+    }
+
+    // Getters
+    public Archetype getPlayerArchetype() {
+        return playerArchetype;
+    }
+
+    public Archetype getEnemyArchetype() {
+        return enemyArchetype;
+    }
+
+    public Archetype getLaserArchetype(boolean playerTeam) {
+        return playerTeam ? playerLaserArchetype : enemyLaserArchetype;
+    }
+}
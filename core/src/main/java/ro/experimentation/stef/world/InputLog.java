@@ -0,0 +1,271 @@
+package ro.experimentation.stef.world;
+
+import com.badlogic.gdx.utils.ByteArray;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.config.PerformanceProfile;
+import ro.experimentation.stef.weapons.BulletPatternLibrary;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A recorded match: everything needed to rebuild its {@link World} plus the player's key
+ * states for every tick, in order.
+ * <p>
+ * Replaying the keys into a world created from the same seed, selection, character sizes
+ * and simulation settings reproduces the match exactly. In memory every tick takes one byte, since the
+ * {@link InputState} keys fit in eight bits. On disk, runs of identical ticks are stored
+ * as a key byte and a variable-length count, so held keys cost a few bytes per run.
+ * A log holds at most the first {@link #MAX_SECONDS} seconds of a match.
+ */
+public class InputLog {
+    private static final int MAGIC = 0x47575352; // "GWSR"
+    private static final int VERSION = 2;
+    // Longest recording; bounds the memory a replay file can ask for
+    private static final int MAX_SECONDS = 24 * 60 * 60;
+
+    private final long seed;
+    private final int tickRate;
+    private final int maxEnemies;
+    private final int aiDecisionsPerTick;
+    private final int selectedCharacterIndex;
+    private final float[][] characterSizes;
+    private final ByteArray ticks;
+
+    /**
+     * Creates an empty log for a new match.
+     *
+     * @param seed Seed of the match's world
+     * @param profile Profile whose tick rate, enemy cap and AI budget the match runs with
+     * @param selectedCharacterIndex The character played by the player
+     * @param characterSizes Unscaled {width, height} of every character
+     */
+    public InputLog(long seed, PerformanceProfile profile, int selectedCharacterIndex, float[][] characterSizes) {
+        this(seed, profile.getTickRate(), profile.getMaxEnemies(), profile.getAIDecisionsPerTick(),
+             selectedCharacterIndex, characterSizes);
+    }
+
+    private InputLog(long seed, int tickRate, int maxEnemies, int aiDecisionsPerTick, int selectedCharacterIndex,
+                     float[][] characterSizes) {
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.maxEnemies = maxEnemies;
+        this.aiDecisionsPerTick = aiDecisionsPerTick;
+        this.selectedCharacterIndex = selectedCharacterIndex;
+        this.characterSizes = characterSizes;
+        this.ticks = new ByteArray(tickRate * 60);
+    }
+
+    /**
+     * Creates an empty log for the same match at another tick rate.
+     *
+     * @param ticksPerSecond Simulation ticks per second
+     * @return The new log
+     */
+    public InputLog withTickRate(int ticksPerSecond) {
+        return new InputLog(seed, ticksPerSecond, maxEnemies, aiDecisionsPerTick, selectedCharacterIndex,
+                            characterSizes);
+    }
+
+    /**
+     * Creates a world in the state the recorded match started from.
+     * The recorded enemy cap and AI budget replace the profile's; its other values only
+     * affect speed. The bullet patterns are not part of the log; replaying with edited
+     * patterns plays a different match.
+     *
+     * @param patterns The bullet patterns enemies fire
+     * @param profile The profile of the machine running the world
+     * @return The new world
+     */
+    public World createWorld(BulletPatternLibrary patterns, PerformanceProfile profile) {
+        return new World(selectedCharacterIndex, characterSizes, seed, patterns,
+                         profile.withSimulation(tickRate, maxEnemies, aiDecisionsPerTick));
+    }
+
+    /**
+     * Appends the input of the next tick, unless the log already holds {@link #MAX_SECONDS}
+     * seconds of ticks.
+     *
+     * @param input The input the tick ran with
+     */
+    public void record(InputState input) {
+        if (ticks.size < tickRate * MAX_SECONDS) {
+            ticks.add((byte) input.getKeys());
+        }
+    }
+
+    /**
+     * Gets the key states of a recorded tick.
+     *
+     * @param tick Index of the tick, from 0
+     * @return Bit set of {@link InputState} key constants
+     */
+    public int getKeys(int tick) {
+        return ticks.get(tick) & 0xff;
+    }
+
+    /**
+     * Gets the number of recorded ticks.
+     *
+     * @return The tick count
+     */
+    public int getTickCount() {
+        return ticks.size;
+    }
+
+    /**
+     * Writes the log in its binary format.
+     *
+     * @param stream Stream to write to; not closed
+     * @throws IOException If the stream cannot be written
+     */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeInt(tickRate);
+        out.writeInt(maxEnemies);
+        out.writeInt(aiDecisionsPerTick);
+        out.writeInt(selectedCharacterIndex);
+        out.writeInt(characterSizes.length);
+        for (float[] size : characterSizes) {
+            out.writeFloat(size[0]);
+            out.writeFloat(size[1]);
+        }
+        out.writeInt(ticks.size);
+
+        // Run-length encode the ticks
+        for (int start = 0; start < ticks.size; ) {
+            byte keys = ticks.get(start);
+            int end = start + 1;
+            while (end < ticks.size && ticks.get(end) == keys) {
+                end++;
+            }
+            out.writeByte(keys);
+            writeVarInt(out, end - start);
+            start = end;
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a log written by {@link #write(OutputStream)}.
+     *
+     * @param stream Stream to read from; not closed
+     * @return The log
+     * @throws IOException If the stream cannot be read, does not hold an input log, or holds
+     *                     settings or characters this build cannot replay
+     */
+    public static InputLog read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not an input log");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported input log version: " + version);
+        }
+        long seed = in.readLong();
+        int tickRate = in.readInt();
+        if (tickRate < 1 || tickRate > PerformanceProfile.MAX_TICK_RATE) {
+            throw new IOException("Corrupt input log: tick rate " + tickRate);
+        }
+        int maxEnemies = in.readInt();
+        if (maxEnemies < 1 || maxEnemies > PerformanceProfile.MAX_ENEMY_CAP) {
+            throw new IOException("Corrupt input log: enemy cap " + maxEnemies);
+        }
+        int aiDecisionsPerTick = in.readInt();
+        if (aiDecisionsPerTick < 1) {
+            throw new IOException("Corrupt input log: " + aiDecisionsPerTick + " AI decisions per tick");
+        }
+        int selectedCharacterIndex = in.readInt();
+        int characterCount = in.readInt();
+        if (characterCount != GameConfig.CHARACTER_TEXTURES.length) {
+            throw new IOException("Input log has " + characterCount + " characters, this build has "
+                                  + GameConfig.CHARACTER_TEXTURES.length);
+        }
+        if (selectedCharacterIndex < 0 || selectedCharacterIndex >= characterCount) {
+            throw new IOException("Corrupt input log: character " + selectedCharacterIndex + " of " + characterCount);
+        }
+        float[][] characterSizes = new float[characterCount][];
+        for (int i = 0; i < characterSizes.length; i++) {
+            float width = in.readFloat();
+            float height = in.readFloat();
+            // Also rejects NaN
+            if (!(width > 0 && height > 0) || Float.isInfinite(width) || Float.isInfinite(height)) {
+                throw new IOException("Corrupt input log: character size " + width + "x" + height);
+            }
+            characterSizes[i] = new float[] {width, height};
+        }
+        int tickCount = in.readInt();
+        if (tickCount < 0 || tickCount > tickRate * MAX_SECONDS) {
+            throw new IOException("Corrupt input log: " + tickCount + " ticks");
+        }
+
+        // The tick storage grows as runs are read, so a bogus count cannot reserve memory up front
+        InputLog log = new InputLog(seed, tickRate, maxEnemies, aiDecisionsPerTick, selectedCharacterIndex,
+                                    characterSizes);
+        while (log.ticks.size < tickCount) {
+            byte keys = in.readByte();
+            int run = readVarInt(in);
+            if (run <= 0 || run > tickCount - log.ticks.size) {
+                throw new IOException("Corrupt input log: run of " + run + " ticks");
+            }
+            for (int i = 0; i < run; i++) {
+                log.ticks.add(keys);
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Writes a non-negative int in 7-bit groups, low group first.
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt input log: variable-length int too long");
+    }
+
+    // Getters
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public int getMaxEnemies() {
+        return maxEnemies;
+    }
+
+    public int getAIDecisionsPerTick() {
+        return aiDecisionsPerTick;
+    }
+
+    public int getSelectedCharacterIndex() {
+        return selectedCharacterIndex;
+    }
+
+    public float[][] getCharacterSizes() {
+        return characterSizes;
+    }
+}
@@ -0,0 +1,71 @@
+package ro.experimentation.stef.world;
+
+/**
+ * Player input for one simulation tick, stored as a bit set of logical keys.
+ * Decouples the simulation from any input device: it can be filled from the keyboard,
+ * a script or a recording.
+ */
+public class InputState {
+    public static final int LEFT = 1;
+    public static final int RIGHT = 1 << 1;
+    public static final int UP = 1 << 2;
+    public static final int DOWN = 1 << 3;
+    public static final int SHOOT = 1 << 4;
+    public static final int ABILITY_A = 1 << 5;
+    public static final int ABILITY_S = 1 << 6;
+    public static final int ABILITY_D = 1 << 7;
+
+    // Keys that trigger once per press rather than while held
+    public static final int ONE_SHOT_KEYS = ABILITY_A | ABILITY_S | ABILITY_D;
+
+    private int keys;
+
+    /**
+     * Checks if a key is down this tick.
+     *
+     * @param key One of the key constants
+     * @return true if the key is down
+     */
+    public boolean isDown(int key) {
+        return (keys & key) != 0;
+    }
+
+    /**
+     * Sets or clears a key.
+     *
+     * @param key One of the key constants
+     * @param down Whether the key is down
+     */
+    public void set(int key, boolean down) {
+        if (down) {
+            keys |= key;
+        } else {
+            keys &= ~key;
+        }
+    }
+
+    /**
+     * Replaces every key state at once.
+     *
+     * @param keys Bit set of key constants
+     */
+    public void setKeys(int keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Gets every key state as a bit set.
+     *
+     * @return Bit set of key constants
+     */
+    public int getKeys() {
+        return keys;
+    }
+
+    /**
+     * Releases every key.
+     */
+    public void clear() {
+        keys = 0;
+    }
+}
@@ -0,0 +1,21 @@
+package ro.experimentation.stef.world;
+
+/**
+ * The timed stages of a {@link World} tick.
+ */
+public enum TickPhase {
+    AI,
+    PROJECTILES,
+    COLLISION;
+
+    private static final TickPhase[] VALUES = values();
+
+    /**
+     * Gets the number of phases without allocating a values() copy.
+     *
+     * @return The phase count
+     */
+    public static int count() {
+        return VALUES.length;
+    }
+}
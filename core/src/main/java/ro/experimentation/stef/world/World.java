@@ -0,0 +1,416 @@
+package ro.experimentation.stef.world;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.config.PerformanceProfile;
+import ro.experimentation.stef.ecs.Archetype;
+import ro.experimentation.stef.ecs.Chunk;
+import ro.experimentation.stef.ecs.ComponentType;
+import ro.experimentation.stef.ecs.EntityRegistry;
+import ro.experimentation.stef.ecs.Query;
+import ro.experimentation.stef.systems.AIScheduler;
+import ro.experimentation.stef.systems.CollisionManager;
+import ro.experimentation.stef.systems.EnemyAI;
+import ro.experimentation.stef.systems.ExpirySystem;
+import ro.experimentation.stef.systems.MovementSystem;
+import ro.experimentation.stef.systems.ParallelUpdater;
+import ro.experimentation.stef.systems.PlayerControlSystem;
+import ro.experimentation.stef.systems.WaveSpawner;
+import ro.experimentation.stef.weapons.BulletPatternLibrary;
+import ro.experimentation.stef.weapons.ProjectileBuffer;
+import ro.experimentation.stef.weapons.ProjectileFactory;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static ro.experimentation.stef.world.Components.*;
+
+/**
+ * Headless gameplay simulation.
+ * Owns the player, enemies and lasers as entities in an {@link EntityRegistry} and advances
+ * them one tick at a time from an {@link InputState} by running each system over its query.
+ * Nothing here touches graphics, audio or Gdx.input, so the world can be ticked in a plain
+ * JVM for profiling, servers or batch runs; GameplayScreen only feeds it input and draws its state.
+ * <p>
+ * Every random decision comes from a generator seeded per match, and ticks have a fixed
+ * duration, so two worlds created with the same seed and fed the same inputs stay in the
+ * same state tick for tick. {@link #checksum()} condenses that state for comparing runs.
+ */
+public class World {
+    // 64-bit FNV-1a parameters for checksum()
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final EntityRegistry registry;
+    private final EntityFactory entityFactory;
+
+    // Seeds everything random in the match
+    private final long seed;
+    private final PerformanceProfile profile;
+    private final RandomXS128 random;
+
+    private final ProjectileFactory projectileFactory;
+    private final PlayerControlSystem playerControl;
+    private final EnemyAI enemyAI;
+    private final AIScheduler aiScheduler;
+    private final WaveSpawner waveSpawner;
+    private final MovementSystem movement;
+    private final ExpirySystem expiry;
+    private final CollisionManager collisionManager;
+    private final ParallelUpdater parallelUpdater;
+
+    private final Query players;
+    private final Query enemies;
+    private final Query movers;
+    private final Query lasers;
+
+    // Shots fired during a tick, turned into lasers before anything moves
+    private final ProjectileBuffer playerShots;
+    private final ProjectileBuffer enemyShots;
+
+    // Bit per projectile type id of the lasers each team fired during the last tick
+    private int playerShotTypes;
+    private int enemyShotTypes;
+
+    private final int player;
+
+    private long tickCount;
+
+    // Nanoseconds spent per TickPhase since the last resetPhaseTimings()
+    private final long[] phaseNanos;
+
+    /**
+     * Creates a new world with the player and up to three enemies; more arrive in waves.
+     *
+     * @param selectedCharacterIndex The character played by the player; the others become enemies
+     * @param characterSizes Unscaled {width, height} of every character in {@link GameConfig#CHARACTER_TEXTURES} order
+     * @param seed Seed of the match's random generator
+     * @param patterns The bullet patterns enemies fire
+     * @param profile Entity cap, AI budget and storage and task sizes to run with
+     */
+    public World(int selectedCharacterIndex, float[][] characterSizes, long seed, BulletPatternLibrary patterns,
+                 PerformanceProfile profile) {
+        this.registry = new EntityRegistry(profile.getEntityChunkCapacity(), profile.getInitialEntityCapacity());
+        this.entityFactory = new EntityFactory(registry);
+
+        // Reserve storage for a long fight up front, so the first waves do not allocate
+        int lasers = profile.getPrewarmPlayerLasers() + profile.getPrewarmEnemyLasers();
+        registry.reserveIndices(1 + profile.getPrewarmEnemies() + lasers);
+        entityFactory.reserve(profile.getPrewarmEnemies(), profile.getPrewarmPlayerLasers(),
+                              profile.getPrewarmEnemyLasers());
+
+        this.seed = seed;
+        this.profile = profile;
+        this.random = new RandomXS128(seed);
+
+        this.projectileFactory = new ProjectileFactory();
+        this.playerControl = new PlayerControlSystem(projectileFactory);
+        this.enemyAI = new EnemyAI(patterns);
+        this.aiScheduler = new AIScheduler(profile.getAIDecisionsPerTick());
+        this.waveSpawner = new WaveSpawner(registry, entityFactory, enemyAI, patterns, random,
+                                           characterSizes, selectedCharacterIndex, profile.getMaxEnemies());
+        this.movement = new MovementSystem();
+        this.expiry = new ExpirySystem(registry, lasers);
+        this.collisionManager = new CollisionManager(registry);
+        this.parallelUpdater = new ParallelUpdater(ForkJoinPool.commonPool(), profile.getParallelEnemyTaskSize(),
+                                                    profile.getParallelMovementTaskSize());
+
+        this.players = registry.query(PLAYER_CONTROL, POSITION, VELOCITY, SIZE, HEALTH);
+        this.enemies = registry.query(ENEMY_BRAIN, POSITION, VELOCITY, SIZE, HEALTH);
+        this.movers = registry.query(POSITION, PREVIOUS_POSITION, VELOCITY);
+        this.lasers = registry.query(LASER);
+
+        this.playerShots = new ProjectileBuffer(profile.getShotBufferCapacity());
+        this.enemyShots = new ProjectileBuffer(profile.getShotBufferCapacity());
+
+        // Create player
+        this.player = entityFactory.createPlayer(selectedCharacterIndex,
+                                                 characterSizes[selectedCharacterIndex][0],
+                                                 characterSizes[selectedCharacterIndex][1], 0, 0);
+
+        // Create the opening enemies (use other characters as enemies)
+        int openingEnemies = Math.min(characterSizes.length - 1, GameConfig.ENEMY_SPAWN_POSITIONS.length);
+        for (int i = 0; i < openingEnemies; i++) {
+            waveSpawner.spawn(GameConfig.ENEMY_SPAWN_POSITIONS[i][0], GameConfig.ENEMY_SPAWN_POSITIONS[i][1]);
+        }
+
+        this.tickCount = 0;
+        this.playerShotTypes = 0;
+        this.enemyShotTypes = 0;
+        this.phaseNanos = new long[TickPhase.count()];
+    }
+
+    /**
+     * Advances the simulation by one tick.
+     *
+     * @param delta Duration of the tick in seconds
+     * @param input Player input for this tick
+     */
+    public void tick(float delta, InputState input) {
+        // New enemies, player input and enemy decisions, firing into the shot buffers
+        long phaseStart = System.nanoTime();
+        waveSpawner.update(enemies, delta);
+        playerControl.update(players, input, playerShots, delta);
+        updateEnemies(delta);
+        playerShotTypes = spawnLasers(playerShots, true);
+        enemyShotTypes = spawnLasers(enemyShots, false);
+        phaseStart = recordPhase(TickPhase.AI, phaseStart);
+
+        // Move everything, including this tick's shots, and retire expired lasers
+        parallelUpdater.updateMovement(movers, movement, delta);
+        playerControl.keepWithinBounds(players);
+        for (int c = 0; c < enemies.chunkCount(); c++) {
+            enemyAI.keepWithinBounds(enemies.getChunk(c));
+        }
+        expiry.update(delta);
+        phaseStart = recordPhase(TickPhase.PROJECTILES, phaseStart);
+
+        // Check collisions
+        collisionManager.checkPlayerProjectileCollisions();
+        collisionManager.checkEnemyProjectileCollisions();
+
+        // Drop lasers that hit or expired and enemies that fell this tick
+        waveSpawner.removeDead(enemies);
+        registry.flush();
+        recordPhase(TickPhase.COLLISION, phaseStart);
+
+        tickCount++;
+    }
+
+    /**
+     * Schedules this tick's enemy decisions and runs the enemy AI against the center of the
+     * player's scaled bounds.
+     *
+     * @param delta Duration of the tick in seconds
+     */
+    private void updateEnemies(float delta) {
+        Chunk chunk = registry.getChunk(player);
+        int slot = registry.getSlot(player);
+        float x = chunk.floats(POSITION, X)[slot];
+        float y = chunk.floats(POSITION, Y)[slot];
+        float scale = chunk.floats(SIZE, SCALE)[slot];
+        float targetX = x + chunk.floats(SIZE, WIDTH)[slot] * scale / 2;
+        float targetY = y + chunk.floats(SIZE, HEIGHT)[slot] * scale / 2;
+        boolean targetAlive = chunk.floats(HEALTH, CURRENT)[slot] > 0;
+
+        aiScheduler.schedule(enemies, targetX, targetY, targetAlive, delta);
+        parallelUpdater.updateEnemies(enemies, enemyAI, targetX, targetY, targetAlive, enemyShots, delta);
+    }
+
+    /**
+     * Turns buffered shots into laser entities and schedules their expiry for when they
+     * leave the world, or after their maximum lifetime if that comes first.
+     *
+     * @param shots The shots to spawn; cleared afterwards
+     * @param playerTeam Whether the player fired them
+     * @return Bit {@code 1 << id} set for every projectile type id spawned
+     */
+    private int spawnLasers(ProjectileBuffer shots, boolean playerTeam) {
+        int types = 0;
+        for (int i = 0; i < shots.size(); i++) {
+            float x = shots.getX(i);
+            float y = shots.getY(i);
+            float velocityX = shots.getVelocityX(i);
+            float velocityY = shots.getVelocityY(i);
+            int laser = entityFactory.createLaser(playerTeam, shots.getType(i), x, y, velocityX, velocityY);
+            expiry.schedule(laser, ExpirySystem.timeToLeaveBounds(
+                x, y, velocityX, velocityY, shots.getType(i).getWidth(), shots.getType(i).getHeight(),
+                GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT));
+            types |= 1 << shots.getType(i).getId();
+        }
+        shots.clear();
+        return types;
+    }
+
+    /**
+     * Counts every allocation made because reserved storage ran out: archetype chunks,
+     * entity index arrays, the expiry node pool and the shot buffers. Sampled every frame
+     * by the performance overlay; a count that keeps rising means the profile's
+     * reservations are smaller than the fight, and the per-archetype peaks tell by how much.
+     *
+     * @return Storage misses since the world was created
+     */
+    public long getStorageMisses() {
+        return (long) registry.getStorageMisses() + expiry.getNodeMisses()
+            + playerShots.getGrowCount() + enemyShots.getGrowCount();
+    }
+
+    /**
+     * Hashes the tick count and every component of every entity, in storage order.
+     * Two worlds that went through the same ticks produce the same checksum; any
+     * divergence, down to a single bit of a float, almost certainly changes it.
+     *
+     * @return 64-bit FNV-1a hash of the world state
+     */
+    public long checksum() {
+        long hash = mix(FNV_OFFSET_BASIS, tickCount);
+        Array<Archetype> archetypes = registry.getArchetypes();
+        for (int a = 0; a < archetypes.size; a++) {
+            Archetype archetype = archetypes.get(a);
+            ComponentType[] types = archetype.getTypes();
+            Array<Chunk> chunks = archetype.getChunks();
+            for (int c = 0; c < chunks.size; c++) {
+                Chunk chunk = chunks.get(c);
+                for (ComponentType type : types) {
+                    for (int field = 0; field < type.getFloatFields(); field++) {
+                        float[] column = chunk.floats(type, field);
+                        for (int i = 0; i < chunk.size(); i++) {
+                            hash = mix(hash, Float.floatToIntBits(column[i]));
+                        }
+                    }
+                    for (int field = 0; field < type.getIntFields(); field++) {
+                        int[] column = chunk.ints(type, field);
+                        for (int i = 0; i < chunk.size(); i++) {
+                            hash = mix(hash, column[i]);
+                        }
+                    }
+                    for (int field = 0; field < type.getLongFields(); field++) {
+                        long[] column = chunk.longs(type, field);
+                        for (int i = 0; i < chunk.size(); i++) {
+                            hash = mix(hash, column[i]);
+                        }
+                    }
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Folds one value into an FNV-1a hash.
+     */
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    /**
+     * Adds the time since a phase started to its running total.
+     *
+     * @param phase The phase that just finished
+     * @param phaseStart System.nanoTime() when the phase started
+     * @return The current time, which is the start of the next phase
+     */
+    private long recordPhase(TickPhase phase, long phaseStart) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - phaseStart;
+        return now;
+    }
+
+    /**
+     * Gets the time spent in a phase, summed over every tick since the last reset.
+     *
+     * @param phase The phase
+     * @return Elapsed nanoseconds
+     */
+    public long getPhaseNanos(TickPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * Zeroes every phase timing.
+     */
+    public void resetPhaseTimings() {
+        for (int i = 0; i < phaseNanos.length; i++) {
+            phaseNanos[i] = 0;
+        }
+    }
+
+    /**
+     * Releases all lasers.
+     */
+    public void dispose() {
+        expiry.clear();
+        for (int c = 0; c < lasers.chunkCount(); c++) {
+            Chunk chunk = lasers.getChunk(c);
+            for (int i = 0; i < chunk.size(); i++) {
+                registry.destroyLater(chunk.getEntity(i));
+            }
+        }
+        registry.flush();
+    }
+
+    // Getters
+    public EntityRegistry getRegistry() {
+        return registry;
+    }
+
+    public EntityFactory getEntityFactory() {
+        return entityFactory;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public PerformanceProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Gets the match's random generator, for systems that spawn or decide at random.
+     *
+     * @return The generator
+     */
+    public RandomXS128 getRandom() {
+        return random;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    public int getEnemyCount() {
+        return enemies.size();
+    }
+
+    public AIScheduler getAIScheduler() {
+        return aiScheduler;
+    }
+
+    public int getWave() {
+        return waveSpawner.getWave();
+    }
+
+    public int getProjectileCount() {
+        return lasers.size();
+    }
+
+    public ParallelUpdater getParallelUpdater() {
+        return parallelUpdater;
+    }
+
+    public CollisionManager getCollisionManager() {
+        return collisionManager;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Gets the kinds of laser the player fired during the last tick.
+     *
+     * @return Bit {@code 1 << id} set for every projectile type id fired
+     */
+    public int getPlayerShotTypes() {
+        return playerShotTypes;
+    }
+
+    /**
+     * Gets the kinds of laser the enemies fired during the last tick.
+     *
+     * @return Bit {@code 1 << id} set for every projectile type id fired
+     */
+    public int getEnemyShotTypes() {
+        return enemyShotTypes;
+    }
+
+    /**
+     * Gets the player's score, earned by defeating enemies.
+     *
+     * @return The score
+     */
+    public int getScore() {
+        return collisionManager.getEnemiesDefeated() * GameConfig.SCORE_PER_ENEMY;
+    }
+}
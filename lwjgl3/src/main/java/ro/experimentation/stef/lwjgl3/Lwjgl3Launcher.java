@@ -3,29 +3,99 @@ package ro.experimentation.stef.lwjgl3;
 import com.badlogic.gdx.Graphics;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
 import ro.experimentation.stef.GamesWithStef;
+import ro.experimentation.stef.config.GameConfig;
+import ro.experimentation.stef.config.PerformanceProfile;
 
-/** Launches the desktop (LWJGL3) application. */
+/**
+ * Launches the desktop (LWJGL3) application.
+ * Pass {@code --replay <file>} to replay a recording saved with F5 instead of playing.
+ * <p>
+ * The performance profile is read from {@code --profile <file>} if given, otherwise from
+ * {@link GameConfig#PERFORMANCE_PROFILE_FILE} in the working directory or on the classpath,
+ * and each {@code --set <key>=<value>} overrides one of its values.
+ */
 public class Lwjgl3Launcher {
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        createApplication(findOption(args, "--replay"), loadProfile(args));
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new GamesWithStef(), getDefaultConfiguration());
+    private static Lwjgl3Application createApplication(String replayPath, PerformanceProfile profile) {
+        return new Lwjgl3Application(
+            new GamesWithStef(replayPath, profile, () -> new TuningForkSoundEngine(profile.getAudioVoices())),
+            getDefaultConfiguration(profile));
     }
 
-    private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
+    private static String findOption(String[] args, String option) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(option)) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the performance profile and applies the command-line overrides.
+     * Runs before the application exists, so it reads files directly rather than through Gdx.files.
+     */
+    private static PerformanceProfile loadProfile(String[] args) {
+        String profilePath = findOption(args, "--profile");
+        Path path = Paths.get(profilePath != null ? profilePath : GameConfig.PERFORMANCE_PROFILE_FILE);
+        PerformanceProfile profile;
+        try {
+            if (profilePath != null || Files.exists(path)) {
+                try (InputStream stream = Files.newInputStream(path)) {
+                    profile = PerformanceProfile.load(stream);
+                }
+            } else {
+                try (InputStream stream = Lwjgl3Launcher.class.getResourceAsStream(
+                        "/" + GameConfig.PERFORMANCE_PROFILE_FILE)) {
+                    profile = stream != null ? PerformanceProfile.load(stream) : PerformanceProfile.DEFAULTS;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read performance profile " + path, e);
+        }
+
+        Properties overrides = new Properties();
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals("--set")) {
+                String override = args[i + 1];
+                int separator = override.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("--set expects <key>=<value>: " + override);
+                }
+                overrides.setProperty(override.substring(0, separator), override.substring(separator + 1));
+            }
+        }
+        return overrides.isEmpty() ? profile : profile.withOverrides(overrides);
+    }
+
+    private static Lwjgl3ApplicationConfiguration getDefaultConfiguration(PerformanceProfile profile) {
         Lwjgl3ApplicationConfiguration configuration = new Lwjgl3ApplicationConfiguration();
         configuration.setTitle("GamesWithStef");
         //// Vsync limits the frames per second to what your hardware can display, and helps eliminate
         //// screen tearing. This setting doesn't always work on Linux, so the line after is a safeguard.
-        configuration.useVsync(true);
-        //// Limits FPS to the refresh rate of the currently active monitor, plus 1 to try to match fractional
-        //// refresh rates. The Vsync setting above should limit the actual FPS to match the monitor.
-        configuration.setForegroundFPS(Lwjgl3ApplicationConfiguration.getDisplayMode().refreshRate + 1);
-        //// If you remove the above line and set Vsync to false, you can get unlimited FPS, which can be
+        //// Both come from the performance profile: display.vsync and display.foregroundFps.
+        configuration.useVsync(profile.isVsync());
+        //// By default limits FPS to the refresh rate of the currently active monitor, plus 1 to try to match
+        //// fractional refresh rates. The Vsync setting above should limit the actual FPS to match the monitor.
+        int foregroundFps = profile.getForegroundFps();
+        if (foregroundFps == PerformanceProfile.MONITOR_REFRESH_RATE) {
+            foregroundFps = Lwjgl3ApplicationConfiguration.getDisplayMode().refreshRate + 1;
+        }
+        configuration.setForegroundFPS(foregroundFps);
+        configuration.setIdleFPS(profile.getIdleFps());
+        //// If you set display.foregroundFps to 0 and display.vsync to false, you can get unlimited FPS, which can be
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
 
@@ -35,6 +105,10 @@ public class Lwjgl3Launcher {
         //// They can also be loaded from the root of assets/ .
         configuration.setWindowIcon("libgdx128.png", "libgdx64.png", "libgdx32.png", "libgdx16.png");
 
+        //// Sound and music play through TuningFork (see TuningForkSoundEngine), which opens its own OpenAL
+        //// device, so libGDX's audio stays off.
+        configuration.disableAudio(true);
+
         //// This should improve compatibility with Windows machines with buggy OpenGL drivers, Macs
         //// with Apple Silicon that have to emulate compatibility with OpenGL anyway, and more.
         //// This uses the dependency `com.badlogicgames.gdx:gdx-lwjgl3-angle` to function.
@@ -0,0 +1,159 @@
+package ro.experimentation.stef.lwjgl3;
+
+import com.badlogic.gdx.files.FileHandle;
+import de.pottgames.tuningfork.Audio;
+import de.pottgames.tuningfork.AudioConfig;
+import de.pottgames.tuningfork.BufferedSoundSource;
+import de.pottgames.tuningfork.SoundBuffer;
+import de.pottgames.tuningfork.StreamedSoundSource;
+import de.pottgames.tuningfork.WaveLoader;
+import ro.experimentation.stef.audio.SoundEffect;
+import ro.experimentation.stef.audio.SoundEngine;
+import ro.experimentation.stef.audio.VoicePool;
+
+/**
+ * Desktop {@link SoundEngine} built on TuningFork's OpenAL wrapper.
+ * <p>
+ * Every effect is decoded from WAV into an OpenAL buffer when loaded. Each voice of the
+ * {@link VoicePool} owns one source, obtained from TuningFork the first time the voice is
+ * used and kept until disposal, so playing a sound only rebinds a buffer and starts the
+ * source; OpenAL mixes on its own thread. The music is streamed from its file.
+ * <p>
+ * TuningFork opens its own OpenAL device, so libGDX's audio must be disabled in the
+ * application configuration.
+ */
+public class TuningForkSoundEngine implements SoundEngine {
+    private final Audio audio;
+    private final VoicePool voices;
+
+    // Decoded clip per SoundEffect ordinal
+    private final SoundBuffer[] buffers;
+
+    // Source per voice, null until the voice first plays
+    private final BufferedSoundSource[] sources;
+
+    private StreamedSoundSource music;
+
+    /**
+     * Creates a new TuningForkSoundEngine. Must be called once the application is running.
+     *
+     * @param voiceCount Number of sound effects that can play at once
+     */
+    public TuningForkSoundEngine(int voiceCount) {
+        AudioConfig config = new AudioConfig();
+        config.setSimultaneousSources(voiceCount);
+        this.audio = Audio.init(config);
+        this.voices = new VoicePool(voiceCount);
+        this.buffers = new SoundBuffer[SoundEffect.count()];
+        this.sources = new BufferedSoundSource[voiceCount];
+    }
+
+    @Override
+    public void load(SoundEffect effect, FileHandle file) {
+        SoundBuffer previous = buffers[effect.ordinal()];
+        buffers[effect.ordinal()] = WaveLoader.load(file);
+        if (previous != null) {
+            previous.dispose();
+        }
+    }
+
+    @Override
+    public void loadMusic(FileHandle file) {
+        if (music != null) {
+            music.dispose();
+        }
+        music = new StreamedSoundSource(file);
+        music.setLooping(true);
+    }
+
+    @Override
+    public boolean play(SoundEffect effect, float volume, float pitch, int priority) {
+        SoundBuffer buffer = buffers[effect.ordinal()];
+        if (buffer == null) {
+            throw new IllegalStateException("Sound effect not loaded: " + effect);
+        }
+
+        releaseFinishedVoices();
+        int voice = voices.claim(priority);
+        if (voice == -1) {
+            return false;
+        }
+
+        BufferedSoundSource source = sources[voice];
+        if (source == null) {
+            source = audio.obtainSource(buffer);
+            sources[voice] = source;
+        } else {
+            // Cut off whatever the voice was playing
+            source.stop();
+            source.setBuffer(buffer);
+        }
+        source.setVolume(volume);
+        source.setPitch(pitch);
+        source.play();
+        return true;
+    }
+
+    /**
+     * Frees the voices whose sound has ended.
+     */
+    private void releaseFinishedVoices() {
+        for (int v = 0; v < sources.length; v++) {
+            if (voices.isBusy(v) && !sources[v].isPlaying()) {
+                voices.release(v);
+            }
+        }
+    }
+
+    @Override
+    public void playMusic() {
+        if (music != null) {
+            music.play();
+        }
+    }
+
+    @Override
+    public void pauseMusic() {
+        if (music != null) {
+            music.pause();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (music != null) {
+            music.dispose();
+            music = null;
+        }
+        for (int v = 0; v < sources.length; v++) {
+            if (sources[v] != null) {
+                sources[v].stop();
+                sources[v].free();
+                sources[v] = null;
+            }
+        }
+        for (int i = 0; i < buffers.length; i++) {
+            if (buffers[i] != null) {
+                buffers[i].dispose();
+                buffers[i] = null;
+            }
+        }
+        audio.dispose();
+    }
+
+    // Getters
+    @Override
+    public int getVoiceCount() {
+        return voices.size();
+    }
+
+    @Override
+    public long getStolenVoices() {
+        return voices.getStolen();
+    }
+
+    @Override
+    public long getDroppedSounds() {
+        return voices.getDropped();
+    }
+}